@@ -0,0 +1,463 @@
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 답 선택 기록을 파일에 남겨서, 프로그램이 갑자기 죽어도 다시 켜면 답을 복구해 주는 저널
+// - 답이 바뀔 때마다 16바이트 기록(문제 번호, 세대, 시각, 키)을 메모리 매핑된 파일에 덧붙인다.
+//   (메모리에 쓰는 것과 같아서 클릭한 EDT가 디스크를 기다리지 않음)
+// - 디스크 동기화(force)는 백그라운드 스레드가 FLUSH_MS 마다 모아서 한 번에 한다 (group commit).
+// - 기록 칸은 두 구역(region)으로 나눠서 번갈아 쓴다. 쓰는 구역이 절반 이상 차면 백그라운드 스레드가
+//   락 안에서는 답안지 스냅샷을 뜨고 쓰는 구역만 바꾼 뒤, 락 밖에서 스냅샷 파일 저장 + force + 예전 구역 비우기를 한다.
+//   (EDT 는 그동안 새 구역에 계속 씀 - 락은 잠깐만 잡고 디스크는 기다리지 않음)
+// - 새 구역까지 가득 찼는데 정리가 아직 안 끝났으면 그 사이 답은 저널에 쓰지 않는다 (답안지에는 있으므로 다음 스냅샷에 들어감)
+// - 시작할 때는 스냅샷 + 스냅샷 이후 세대의 기록을 순서대로 다시 적용(replay)한다.
+//   열기(open)는 백그라운드에서 파일만 읽어 복구할 답을 따로 모아 두고, 답안지에 적용 + 기록 시작(attach)은
+//   답안지를 쓰는 스레드(EDT)에서 한 번에 한다 (답안지는 쓰는 스레드가 하나여야 하고, 그 사이에 고른 답도 잃지 않게)
+// - 파일에는 문제은행 내용 해시, 응시자 ID 해시, 문제 수를 같이 적어 두고, 다른 시험(다른 문제은행/응시자)의 기록이면 복구하지 않고 버린다.
+//   (문제를 섞는 경우 기록은 화면 순서 번호지만, 같은 문제은행 + 같은 응시자면 화면 순서도 항상 같음)
+// - 같은 파일을 두 창/두 프로세스가 같이 쓰지 않도록 파일 잠금(FileLock)을 잡는다.
+//
+// 저널 파일: [헤더 64바이트] + 구역 2개 x capacity x 16바이트 기록
+//   헤더: int MAGIC, int VERSION, long 문제은행 해시, long 응시자 해시, int 문제 수, int capacity, long 기준시각(ms)
+//   기록: int 문제 번호, int 세대, int 기준시각부터 지난 ms, byte 키(0이면 답 지움), 2바이트 비움, byte 종류(1 = 답)
+//   종류가 0인 기록을 만나면 그 구역은 거기서 끝 (파일은 0으로 채워진 상태로 미리 만들어 둠)
+// 스냅샷 파일: int MAGIC, long 문제은행 해시, long 응시자 해시, int 세대(이 세대까지의 기록은 모두 반영됨), int 문제 수, long[] 답안지
+public class AnswerJournal implements AnswerSheet.Listener, Closeable {
+    static final int JOURNAL_MAGIC = 0x514A4E4C;  // "QJNL"
+    static final int SNAPSHOT_MAGIC = 0x51534E50; // "QSNP"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 16;
+    static final byte TYPE_ANSWER = 1;
+
+    // 구역 하나에 담을 수 있는 기록 수 (-Dquiz.journal.capacity), 디스크 동기화 주기 (-Dquiz.journal.flushMs)
+    static final int CAPACITY = Integer.getInteger("quiz.journal.capacity", 8192);
+    static final long FLUSH_MS = Long.getLong("quiz.journal.flushMs", 200L);
+
+    private final Path journalPath;
+    private final Path snapshotPath;
+    private final AnswerSheet sheet;
+    private final long bankHash;
+    private final long candidateHash;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buf;
+    private final int capacity;
+    private final long baseTime;
+    private final ScheduledExecutorService flusher;
+
+    // 아래 필드들은 this 락으로 보호 (기록은 EDT, 정리는 백그라운드 스레드) - 락 안에서는 디스크 I/O 를 하지 않음
+    private int generation;           // 지금 쓰는 구역의 세대 (기록마다 같이 적음)
+    private int active;               // 지금 쓰는 구역 (0/1)
+    private int records;              // 지금 쓰는 구역의 기록 수
+    private int retiring = -1;        // 스냅샷 저장 후 비워야 하는 예전 구역 (없으면 -1, 있는 동안은 구역을 바꿀 수 없음)
+    private boolean dirty;            // 마지막 force 이후 새 기록이 있는지
+    private boolean compactionQueued;
+    private long dropped;             // 두 구역이 다 차서 저널에 못 쓴 답 변경 수
+
+    private AnswerSheet recovered;    // 파일에서 복구한 답 (attach 에서 답안지에 적용한 뒤 null)
+    private final int replayed;       // 시작할 때 복구한 답 수
+    private final long replayNanos;   // 복구에 걸린 시간
+
+    private AnswerJournal(Path journalPath, AnswerSheet sheet, long bankHash, String candidate, int capacity) throws IOException {
+        this.journalPath = journalPath;
+        this.snapshotPath = journalPath.resolveSibling(journalPath.getFileName() + ".snapshot");
+        this.sheet = sheet;
+        this.bankHash = bankHash;
+        this.candidateHash = candidateHash(candidate);
+        this.capacity = capacity;
+
+        long start = System.nanoTime();
+        boolean existed = Files.exists(journalPath);
+        long size = HEADER_SIZE + 2L * capacity * RECORD_SIZE;
+        this.channel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            channel.close();
+            throw new IOException("이 답안 저널은 다른 창에서 쓰고 있습니다: " + journalPath);
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IOException("이 답안 저널은 다른 프로그램에서 쓰고 있습니다: " + journalPath);
+        }
+        if (channel.size() < size) {
+            // 크기가 모자라면 늘려 둠 (늘어난 부분은 0으로 채워짐 → 종류 0 = 기록 끝)
+            channel.write(java.nio.ByteBuffer.allocate(1), size - 1);
+        }
+        this.buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        // 스냅샷 + 남은 기록 복구 (아직 답안지에는 적용하지 않음)
+        this.recovered = new AnswerSheet(sheet.size());
+        Snapshot snap = readSnapshot();
+        int restored = 0;
+        int lastGeneration = snap == null ? -1 : snap.generation;
+        if (snap != null) {
+            restored += applySnapshot(snap, recovered);
+        }
+        if (existed && buf.getInt(0) == JOURNAL_MAGIC) {
+            if (matchesHeader()) {
+                int[] replay = replayRegions(snap == null ? -1 : snap.generation, recovered);
+                restored += replay[0];
+                lastGeneration = Math.max(lastGeneration, replay[1]);
+            } else {
+                System.err.println("다른 시험(문제은행/응시자/저널 크기)의 답안 저널이라 복구하지 않습니다: " + journalPath);
+            }
+        }
+        this.replayed = restored;
+
+        // 복구한 내용을 새 스냅샷으로 저장하고 두 구역을 비운 뒤 새 세대로 시작 (열 때는 EDT 가 아님)
+        generation = lastGeneration + 1;
+        writeSnapshot(new Snapshot(bankHash, candidateHash, lastGeneration, sheet.size(), recovered.snapshot()));
+        clearRegion(0);
+        clearRegion(1);
+        baseTime = System.currentTimeMillis();
+        writeHeader();
+        buf.force();
+        this.replayNanos = System.nanoTime() - start;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "answer-journal");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_MS, FLUSH_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // 저널을 열고 남아 있던 기록을 읽어 둠 (파일 I/O - EDT 가 아닌 스레드에서, 답안지는 건드리지 않음)
+    // 복구한 답을 적용하고 기록을 시작하려면 답안지를 쓰는 스레드에서 attach
+    // bankHash: 문제은행 내용 해시 (fingerprint), candidate: 응시자 ID - 둘 중 하나라도 다르면 예전 기록은 버림
+    public static AnswerJournal open(Path journalPath, AnswerSheet sheet, long bankHash, String candidate) throws IOException {
+        return new AnswerJournal(journalPath, sheet, bankHash, candidate, CAPACITY);
+    }
+
+    // 복구한 답을 답안지에 적용하고 이후 답 변경을 기록하기 시작 → 답안지에 적용한 답 수
+    // 답안지를 쓰는 스레드(EDT)에서 부름 - 적용, 기록, 리스너 등록 사이에 다른 답 변경이 끼어들지 않음
+    // chosen: open 이후 attach 전에 응시자가 고르거나 지운 문제 - 복구한 답으로 덮어쓰지 않고 지금 답을 저널에 기록
+    public int attach(BitSet chosen) {
+        long[] saved = recovered.snapshot();
+        recovered = null;
+        int applied = 0;
+        for (int i = 0; i < sheet.size(); i++) {
+            char now = sheet.get(i);
+            if (chosen.get(i)) {
+                answerChanged(sheet, i, '\u0000', now);
+            } else {
+                char key = AnswerSheet.get(saved, i);
+                if (key != now) {
+                    sheet.set(i, key);
+                    applied++;
+                }
+            }
+        }
+        sheet.addListener(this);
+        return applied;
+    }
+
+    // 기본 저널 위치 (-Dquiz.journal 로 변경, 작업 폴더의 quiz-answers-<응시자>.journal)
+    public static Path defaultPath(String candidate) {
+        String path = System.getProperty("quiz.journal");
+        if (path != null) {
+            return Path.of(path);
+        }
+        StringBuilder name = new StringBuilder("quiz-answers-");
+        boolean replaced = false;
+        for (int i = 0; i < candidate.length() && i < 40; i++) {
+            char c = candidate.charAt(i);
+            boolean safe = TextNormalizer.isAsciiLetterOrDigit(c) || c == '-' || c == '_';
+            name.append(safe ? c : '_');
+            replaced |= !safe;
+        }
+        if (replaced || candidate.length() > 40) {
+            // 한글 이름처럼 바뀐 글자가 있으면 서로 겹치지 않도록 해시를 붙임
+            name.append('-').append(Long.toHexString(candidateHash(candidate)), 0, 8);
+        }
+        return Path.of(name.append(".journal").toString());
+    }
+
+    // 문제은행 내용 전체의 해시 (문제 순서 포함)
+    public static long fingerprint(QuestionBank bank) {
+        long h = 0xcbf29ce484222325L ^ bank.size();
+        for (int i = 0; i < bank.size(); i++) {
+            h = (h ^ bank.contentHash(i)) * 0x100000001b3L;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+
+    static long candidateHash(String candidate) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : candidate.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private void writeHeader() {
+        buf.putInt(0, JOURNAL_MAGIC);
+        buf.putInt(4, VERSION);
+        buf.putLong(8, bankHash);
+        buf.putLong(16, candidateHash);
+        buf.putInt(24, sheet.size());
+        buf.putInt(28, capacity);
+        buf.putLong(32, baseTime);
+    }
+
+    private boolean matchesHeader() {
+        return buf.getInt(4) == VERSION && buf.getLong(8) == bankHash && buf.getLong(16) == candidateHash
+                && buf.getInt(24) == sheet.size() && buf.getInt(28) == capacity;
+    }
+
+    private int regionBase(int region) {
+        return HEADER_SIZE + region * capacity * RECORD_SIZE;
+    }
+
+    // 두 구역에서 snapshotGeneration 이후 세대의 기록을 세대 순서로 target 에 적용 → {적용한 수, 가장 큰 세대}
+    private int[] replayRegions(int snapshotGeneration, AnswerSheet target) {
+        int[] first = {regionGeneration(0), regionGeneration(1)};
+        int order = first[0] <= first[1] ? 0 : 1;
+        int applied = 0;
+        int last = -1;
+        for (int k = 0; k < 2; k++) {
+            int region = k == 0 ? order : 1 - order;
+            int base = regionBase(region);
+            for (int n = 0; n < capacity; n++) {
+                int pos = base + n * RECORD_SIZE;
+                if (buf.get(pos + 15) != TYPE_ANSWER) {
+                    break;
+                }
+                int gen = buf.getInt(pos + 4);
+                last = Math.max(last, gen);
+                if (gen <= snapshotGeneration) {
+                    continue;   // 스냅샷에 이미 들어 있음
+                }
+                int index = buf.getInt(pos);
+                char key = (char) (buf.get(pos + 12) & 0xFF);
+                if (index >= 0 && index < target.size()
+                        && (key == '\u0000' || (key >= AnswerSheet.MIN_KEY && key <= AnswerSheet.MAX_KEY))) {
+                    target.set(index, key);
+                    applied++;
+                }
+            }
+        }
+        return new int[] {applied, last};
+    }
+
+    // 구역의 세대 (첫 기록의 세대, 비어 있으면 MAX_VALUE - 맨 뒤로)
+    private int regionGeneration(int region) {
+        int pos = regionBase(region);
+        return buf.get(pos + 15) == TYPE_ANSWER ? buf.getInt(pos + 4) : Integer.MAX_VALUE;
+    }
+
+    private void clearRegion(int region) {
+        int base = regionBase(region);
+        for (int n = 0; n < capacity; n++) {
+            buf.put(base + n * RECORD_SIZE + 15, (byte) 0);
+        }
+    }
+
+    private int applySnapshot(Snapshot snap, AnswerSheet target) {
+        int applied = 0;
+        int n = Math.min(snap.size, target.size());
+        for (int i = 0; i < n; i++) {
+            char key = AnswerSheet.get(snap.words, i);
+            if (key != '\u0000') {
+                target.set(i, key);
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    // 답이 바뀔 때 호출 (AnswerSheet 리스너) - 메모리 매핑된 버퍼에 16바이트 쓰기만 함 (디스크 I/O 없음)
+    @Override
+    public void answerChanged(AnswerSheet s, int index, char oldKey, char newKey) {
+        synchronized (this) {
+            if (records >= capacity) {
+                // 정리가 따라오지 못한 드문 경우 - 기다리지 않고 건너뜀 (다음 스냅샷에 답안지째 들어감)
+                dropped++;
+                queueCompaction();
+                return;
+            }
+            int pos = regionBase(active) + records * RECORD_SIZE;
+            buf.putInt(pos, index);
+            buf.putInt(pos + 4, generation);
+            buf.putInt(pos + 8, (int) (System.currentTimeMillis() - baseTime));
+            buf.put(pos + 12, (byte) newKey);
+            buf.put(pos + 15, TYPE_ANSWER);    // 종류는 마지막에 써서, 쓰다 만 기록은 끝으로 인식되게
+            records++;
+            dirty = true;
+            if (records >= capacity / 2) {
+                queueCompaction();
+            }
+        }
+    }
+
+    private void queueCompaction() {
+        if (!compactionQueued) {
+            compactionQueued = true;
+            flusher.execute(this::compactQuietly);
+        }
+    }
+
+    // 모아 둔 기록을 디스크에 동기화 (백그라운드 스레드)
+    void flush() {
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+        }
+        buf.force();
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            // 예전 구역은 그대로 두었으므로 다음 정리 때 다시 시도
+            System.err.println("답안 저널 정리 실패: " + e.getMessage());
+        }
+    }
+
+    // 현재 답안지를 스냅샷으로 저장하고 예전 구역을 비움 (백그라운드 스레드)
+    // 락 안: 답안지 스냅샷 + 구역 바꾸기, 락 밖: 스냅샷 파일 쓰기/force, 예전 구역 비우기/force
+    void compact() throws IOException {
+        long[] words;
+        int covered;
+        int region;
+        synchronized (this) {
+            compactionQueued = false;
+            if (retiring < 0) {
+                retiring = active;
+                active = 1 - active;
+                records = 0;
+                generation++;
+            }
+            region = retiring;
+            covered = generation - 1;          // 예전 구역의 세대까지는 스냅샷에 모두 들어감
+            words = sheet.snapshot();
+        }
+        writeSnapshot(new Snapshot(bankHash, candidateHash, covered, sheet.size(), words));
+        // 스냅샷이 디스크에 저장된 뒤에야 예전 구역을 비움 (EDT 는 다른 구역에 쓰는 중)
+        clearRegion(region);
+        buf.force();
+        synchronized (this) {
+            retiring = -1;
+        }
+    }
+
+    // 스냅샷 파일 (임시 파일에 쓰고 이름을 바꿔서, 쓰다 만 스냅샷이 남지 않게)
+    private record Snapshot(long bankHash, long candidateHash, int generation, int size, long[] words) {
+    }
+
+    private void writeSnapshot(Snapshot snap) throws IOException {
+        Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream os = java.nio.channels.Channels.newOutputStream(ch);
+             DataOutputStream out = new DataOutputStream(new java.io.BufferedOutputStream(os))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(snap.bankHash);
+            out.writeLong(snap.candidateHash);
+            out.writeInt(snap.generation);
+            out.writeInt(snap.size);
+            out.writeInt(snap.words.length);
+            for (long w : snap.words) {
+                out.writeLong(w);
+            }
+            out.flush();
+            ch.force(true);
+        }
+        Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 이 시험의 스냅샷 (없거나 다른 시험 것이면 null)
+    private Snapshot readSnapshot() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return null;
+        }
+        try (InputStream is = Files.newInputStream(snapshotPath);
+             DataInputStream in = new DataInputStream(new java.io.BufferedInputStream(is))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                return null;
+            }
+            long bank = in.readLong();
+            long candidate = in.readLong();
+            int gen = in.readInt();
+            int size = in.readInt();
+            if (bank != bankHash || candidate != candidateHash || size != sheet.size()) {
+                System.err.println("다른 시험(문제은행/응시자)의 답안 스냅샷이라 복구하지 않습니다: " + snapshotPath);
+                return null;
+            }
+            long[] words = new long[in.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            return new Snapshot(bank, candidate, gen, size, words);
+        } catch (java.io.EOFException e) {
+            return null;    // 예전 형식이거나 잘린 파일
+        }
+    }
+
+    // 시작할 때 복구한 답 수
+    public int getReplayed() {
+        return replayed;
+    }
+
+    // 복구에 걸린 시간 (ms)
+    public double getReplayMillis() {
+        return replayNanos / 1_000_000.0;
+    }
+
+    // 두 구역이 다 차서 저널에 못 쓴 답 변경 수 (확인용)
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    // 시험이 끝나면(제출) 더 이상 복구할 필요가 없으므로 저널과 스냅샷 삭제
+    public void discard() {
+        close();
+        try {
+            Files.deleteIfExists(journalPath);
+            Files.deleteIfExists(snapshotPath);
+        } catch (IOException e) {
+            System.err.println("답안 저널 삭제 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        sheet.removeListener(this);
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);   // 진행 중인 정리가 끝날 때까지
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        buf.force();
+        try {
+            lock.release();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("답안 저널 닫기 실패: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 응시자 한 명(한 시험 세션)의 답안지
+// - 답 하나를 4비트로 저장해서 long 하나에 16문제씩 담는다. (0 = 안 품, 1 = 'A', 2 = 'B' ... 15 = 'O')
+// - 답을 쓰는 스레드는 하나(보통 EDT)라고 가정하고, 읽는 쪽은 여러 스레드가 락 없이 읽을 수 있다.
+//   snapshot()은 버전 번호(seqlock)를 이용해 쓰는 도중의 값이 섞이지 않은 일관된 사본을 돌려준다.
+// - 답이 바뀌면 등록된 Listener(네비게이션 라벨, 저장 기능 등)에 알린다.
+public class AnswerSheet {
+    static final int BITS = 4;                    // 답 하나에 쓰는 비트 수
+    static final int PER_WORD = 64 / BITS;        // long 하나에 들어가는 답 수
+    static final long MASK = (1L << BITS) - 1;
+    static final char MIN_KEY = 'A';
+    static final char MAX_KEY = (char) (MIN_KEY + MASK - 1); // 저장 가능한 마지막 키 ('O')
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VERSION;
+
+    static {
+        try {
+            VERSION = MethodHandles.lookup().findVarHandle(AnswerSheet.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 답 변경 알림을 받는 쪽
+    public interface Listener {
+        // index 번 문제의 답이 oldKey → newKey 로 바뀜 (안 푼 상태는 '\u0000')
+        void answerChanged(AnswerSheet sheet, int index, char oldKey, char newKey);
+    }
+
+    private final int size;          // 문제 수
+    private final long[] words;      // 4비트씩 묶은 답
+    @SuppressWarnings("unused")
+    private volatile long version;   // 쓰는 중이면 홀수 (seqlock)
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public AnswerSheet(int size) {
+        this.size = size;
+        this.words = new long[(size + PER_WORD - 1) / PER_WORD];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 키 문자 → 4비트 코드
+    static int encode(char key) {
+        if (key == '\u0000') {
+            return 0;
+        }
+        if (key < MIN_KEY || key > MAX_KEY) {
+            throw new IllegalArgumentException("저장할 수 없는 선택지 키입니다: " + key);
+        }
+        return key - MIN_KEY + 1;
+    }
+
+    // 4비트 코드 → 키 문자
+    static char decode(int code) {
+        return code == 0 ? '\u0000' : (char) (MIN_KEY + code - 1);
+    }
+
+    // index 번 문제의 답 (안 풀었으면 '\u0000')
+    public char get(int index) {
+        long word = (long) WORDS.getOpaque(words, index / PER_WORD);
+        return decode((int) ((word >>> ((index % PER_WORD) * BITS)) & MASK));
+    }
+
+    // snapshot() 으로 받은 사본에서 index 번 문제의 답
+    static char get(long[] snapshot, int index) {
+        return decode((int) ((snapshot[index / PER_WORD] >>> ((index % PER_WORD) * BITS)) & MASK));
+    }
+
+    // index 번 문제의 답 기록 (쓰는 스레드는 하나여야 함). key 가 '\u0000' 이면 답 지우기
+    public void set(int index, char key) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int code = encode(key);
+        int w = index / PER_WORD;
+        int shift = (index % PER_WORD) * BITS;
+        long old = (long) WORDS.getOpaque(words, w);
+        char oldKey = decode((int) ((old >>> shift) & MASK));
+        if (oldKey == key) {
+            return;
+        }
+        long updated = (old & ~(MASK << shift)) | ((long) code << shift);
+
+        long v = (long) VERSION.getOpaque(this);
+        VERSION.setOpaque(this, v + 1);     // 홀수: 쓰는 중
+        VarHandle.storeStoreFence();         // 버전 변경이 답 변경보다 먼저 보이도록
+        WORDS.setOpaque(words, w, updated);
+        version = v + 2;                     // 짝수: 쓰기 끝 (volatile 쓰기 = release)
+
+        for (Listener l : listeners) {
+            l.answerChanged(this, index, oldKey, key);
+        }
+    }
+
+    // 지금 시점의 일관된 사본 (쓰는 도중이면 끝날 때까지 다시 시도)
+    public long[] snapshot() {
+        long[] copy = new long[words.length];
+        while (true) {
+            long before = version;           // volatile 읽기 = acquire
+            if ((before & 1) == 0) {
+                for (int i = 0; i < copy.length; i++) {
+                    copy[i] = (long) WORDS.getOpaque(words, i);
+                }
+                VarHandle.loadLoadFence();   // 사본 읽기가 버전 재확인보다 먼저 끝나도록
+                if ((long) VERSION.getOpaque(this) == before) {
+                    return copy;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // 일관된 사본을 문제당 1바이트 (키 문자, 안 풀었으면 0) 로 풀어서 dst[offset...] 에 기록
+    // (GradingEngine 에 바로 넘길 수 있는 형식)
+    public void copyTo(byte[] dst, int offset) {
+        long[] snap = snapshot();
+        for (int i = 0; i < size; i++) {
+            int code = (int) ((snap[i / PER_WORD] >>> ((i % PER_WORD) * BITS)) & MASK);
+            dst[offset + i] = (byte) decode(code);
+        }
+    }
+
+    // 답안지를 문제당 1바이트 배열로
+    public byte[] toBytes() {
+        byte[] out = new byte[size];
+        copyTo(out, 0);
+        return out;
+    }
+
+    // 답한 문제 수 (0이 아닌 4비트 칸 개수)
+    public int answeredCount() {
+        long[] snap = snapshot();
+        int count = 0;
+        for (long word : snap) {
+            // 각 4비트 칸을 OR 로 접어서 칸마다 0이 아니면 최하위 비트가 1
+            long folded = word | (word >>> 1) | (word >>> 2) | (word >>> 3);
+            count += Long.bitCount(folded & 0x1111111111111111L);
+        }
+        return count;
+    }
+
+    // from 번부터 (끝까지 없으면 처음부터 다시) 찾은 첫 번째 안 푼 문제 번호, 모두 풀었으면 -1
+    public int nextUnanswered(int from) {
+        if (size == 0) {
+            return -1;
+        }
+        long[] snap = snapshot();
+        int start = Math.floorMod(from, size);
+        int found = scanUnanswered(snap, start, size);
+        return found >= 0 ? found : scanUnanswered(snap, 0, start);
+    }
+
+    // [from, to) 에서 첫 번째 빈 4비트 칸 (answeredCount 와 같은 접기 방법으로 long 하나씩 검사)
+    private static int scanUnanswered(long[] snap, int from, int to) {
+        for (int w = from / PER_WORD; w * PER_WORD < to; w++) {
+            long word = snap[w];
+            long folded = word | (word >>> 1) | (word >>> 2) | (word >>> 3);
+            long empty = ~folded & 0x1111111111111111L;   // 빈 칸마다 최하위 비트가 1
+            if (w == from / PER_WORD) {
+                empty &= -1L << ((from % PER_WORD) * BITS);
+            }
+            if (empty != 0) {
+                int index = w * PER_WORD + Long.numberOfTrailingZeros(empty) / BITS;
+                return index < to ? index : -1;
+            }
+        }
+        return -1;
+    }
+
+    // 모든 문제에 답했는지
+    public boolean isComplete() {
+        return answeredCount() == size;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,191 @@
+import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+// 문제은행 파일이 바뀌면 다시 읽어서 바뀐 문제만 알려 주는 감시 도구 (-Dquiz.watch=true, QuizApp 이 씀)
+// - WatchService 로 파일이 있는 폴더를 감시 (편집기나 QuestionBankCompiler 가 새 파일로 바꿔치기해도 잡힘)
+// - 저장 중에 이벤트가 여러 번 오므로 마지막 이벤트 뒤 DEBOUNCE_MS 동안 조용하면 그때 한 번 읽음
+// - 문제마다 QuestionConfig.contentHash 를 지난번 값과 비교해서 바뀐 문제 번호만 골라냄
+// - 다시 읽은 문제은행이 검사(QuestionBankValidator)를 통과하지 못하면 무시하고 지금 것을 계속 씀
+// - 바로 반영할 수 없는 문제(canApply 가 false)는 예전 문제와 해시를 그대로 두어서, 다음에 다시 읽을 때도 또 알려 줌
+// - 결과(Change)는 EDT 에서 onChange 로 전달
+public final class BankWatcher implements AutoCloseable {
+    static final long DEBOUNCE_MS = Long.getLong("quiz.watch.debounceMs", 200L);
+
+    // 반영할 문제은행 + 반영할 문제 번호 + 바뀌었지만 반영하지 않은 문제 번호 (문제은행 순서, 오름차순)
+    // bank 는 반영하지 않은 문제만 예전 문제 그대로 둔 것 (지금 화면과 항상 일치)
+    public record Change(QuestionBank bank, int[] changed, int[] skipped, boolean sizeChanged, long nanos) {
+    }
+
+    private final Path file;
+    private final WatchService watcher;
+    private final BiPredicate<QuestionConfig, QuestionConfig> canApply;
+    private final Consumer<Change> onChange;
+    private final Thread thread;
+    private QuestionBank current;   // 지금 화면에 쓰고 있는 문제은행 (감시 스레드만 씀)
+    private long[] hashes;          // current 의 문제별 해시
+
+    private BankWatcher(Path file, QuestionBank current, BiPredicate<QuestionConfig, QuestionConfig> canApply,
+                        Consumer<Change> onChange) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.canApply = canApply;
+        this.onChange = onChange;
+        this.current = current;
+        this.hashes = hashes(current);
+        this.watcher = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::run, "quiz-bank-watch");
+        thread.setDaemon(true);
+    }
+
+    // file 감시 시작 (current: 지금 쓰고 있는 문제은행, canApply: (예전 문제, 바뀐 문제) 를 바로 반영할 수 있는지)
+    public static BankWatcher start(Path file, QuestionBank current, BiPredicate<QuestionConfig, QuestionConfig> canApply,
+                                    Consumer<Change> onChange) throws IOException {
+        BankWatcher w = new BankWatcher(file, current, canApply, onChange);
+        w.thread.start();
+        return w;
+    }
+
+    // 문제별 내용 해시
+    static long[] hashes(QuestionBank bank) {
+        long[] h = new long[bank.size()];
+        for (int i = 0; i < h.length; i++) {
+            h[i] = bank.contentHash(i);
+        }
+        return h;
+    }
+
+    // 두 해시 배열에서 달라진 번호 (길이가 다르면 겹치는 부분만 비교)
+    static int[] diff(long[] before, long[] after) {
+        int n = Math.min(before.length, after.length);
+        int[] changed = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (before[i] != after[i]) {
+                changed[count++] = i;
+            }
+        }
+        return Arrays.copyOf(changed, count);
+    }
+
+    // 파일을 읽어서 메모리에 모두 올린 문제은행 (.csv 는 CSV, 그 밖은 .qbank)
+    // .qbank 는 매핑하지 않고 힙에 읽음 (매핑이 남아 있으면 Windows 에서 다음 저장 때 파일을 바꿔치기하지 못함)
+    static QuestionBank read(Path file) throws IOException {
+        if (file.getFileName().toString().endsWith(".csv")) {
+            List<QuestionConfig> configs = QuestionBankCompiler.readCsv(file);
+            return QuestionBank.of(configs.toArray(new QuestionConfig[0]));
+        }
+        MappedQuestionBank mapped = MappedQuestionBank.load(file);
+        QuestionConfig[] configs = new QuestionConfig[mapped.size()];
+        for (int i = 0; i < configs.length; i++) {
+            configs[i] = mapped.get(i);
+        }
+        return QuestionBank.of(configs);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean touched = drain(key);
+                // 저장이 끝날 때까지 기다림 (DEBOUNCE_MS 안에 또 바뀌면 다시 기다림)
+                while (true) {
+                    WatchKey more = watcher.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+                    if (more == null) {
+                        break;
+                    }
+                    touched |= drain(more);
+                }
+                if (touched) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 종료
+        }
+    }
+
+    // 이벤트 중에 감시 중인 파일 것이 있었는지
+    private boolean drain(WatchKey key) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+
+    private void reload() {
+        long start = System.nanoTime();
+        QuestionBank bank;
+        try {
+            if (!Files.isRegularFile(file)) {
+                return;     // 바꿔치기 중간 (지워졌다가 다시 생김)
+            }
+            bank = read(file);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("문제은행을 다시 읽을 수 없습니다: " + file + " (" + e.getMessage() + ")");
+            return;
+        }
+        QuestionBankValidator.Report report = QuestionBankValidator.validate(bank);
+        if (!report.isValid()) {
+            System.err.println("바뀐 문제은행에 오류가 있어 반영하지 않습니다.");
+            System.err.println(report);
+            return;
+        }
+        long[] next = hashes(bank);
+        int[] changed = diff(hashes, next);
+        boolean sizeChanged = next.length != hashes.length;
+        if (changed.length == 0 && !sizeChanged) {
+            return;
+        }
+        Change change;
+        if (sizeChanged) {
+            // 문제 수가 바뀐 것은 반영하지 않으므로 (QuizApp) 비교 기준도 그대로
+            change = new Change(bank, new int[0], changed, true, System.nanoTime() - start);
+        } else {
+            // 반영할 문제만 새 문제로 바꾸고, 나머지는 예전 문제와 해시를 그대로 둠 (다음에 다시 비교됨)
+            QuestionConfig[] configs = new QuestionConfig[next.length];
+            int[] applied = new int[changed.length];
+            int[] skipped = new int[changed.length];
+            int a = 0;
+            int k = 0;
+            for (int i = 0; i < configs.length; i++) {
+                configs[i] = bank.get(i);
+            }
+            for (int b : changed) {
+                if (canApply.test(current.get(b), configs[b])) {
+                    applied[a++] = b;
+                    hashes[b] = next[b];
+                } else {
+                    skipped[k++] = b;
+                    configs[b] = current.get(b);
+                }
+            }
+            current = QuestionBank.of(configs);
+            change = new Change(current, Arrays.copyOf(applied, a), Arrays.copyOf(skipped, k), false,
+                    System.nanoTime() - start);
+        }
+        SwingUtilities.invokeLater(() -> onChange.accept(change));
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.close();
+        thread.interrupt();
+    }
+}
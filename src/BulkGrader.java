@@ -0,0 +1,498 @@
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// 스캔한 종이 답안지 파일을 화면 없이 한꺼번에 채점하는 도구
+// 사용법: java BulkGrader <답안지파일> <결과파일>
+// 입력 (한 줄에 응시자 한 명, '#' 으로 시작하는 줄과 빈 줄은 건너뜀):
+//   CSV     응시자ID,ABCDE...           (답을 한 칸에 이어서)
+//           응시자ID,A,B,,D,...         (문제마다 한 칸, 빈 칸은 안 푼 문제)
+//   고정폭  -Dquiz.bulk.idWidth=N → 앞 N 글자가 응시자ID, 바로 뒤부터 문제마다 한 글자
+//   답 글자: A~O (소문자 가능), 1~9 (1 = A), 안 푼 문제는 공백 . - _ * 0, 그 밖의 글자는 틀린 답('?')으로 채점
+//   머리글   -Dquiz.bulk.header=auto(기본) → 첫 데이터 줄의 응시자ID 칸이 "id" 면 머리글로 보고 건너뜀
+//            true → 첫 데이터 줄은 항상 머리글, false → 머리글 없음 (건너뛴 줄 수는 요약에 나옴)
+// 출력 (CSV, 입력 순서 그대로): id,score,answered,marks  (marks: 문제마다 O 맞음 / X 틀림 / - 안 품)
+// 정답은 QuestionBank.load() (기본 QuestionData.QUESTIONS, -Dquiz.bank 로 바꿀 수 있음)
+//
+// 처리 방식 (입력 크기와 상관없이 메모리는 Batch BATCHES 개 만큼만 씀)
+//   읽기 스레드(main)  파일을 WINDOW_BYTES 씩 메모리 매핑하고 줄 경계에 맞춰 CHUNK_BYTES 정도씩 잘라서
+//                      빈 Batch 에 담아 작업 큐로 (빈 Batch 가 없으면 기다림 → 뒤쪽이 느리면 읽기도 멈춤)
+//   채점 스레드 THREADS 개  조각을 줄 단위로 읽어 답 바이트 배열로 (줄마다 String 을 만들지 않음)
+//                      → GradingEngine 으로 채점 → 결과 줄을 Batch 안의 byte[] 에 씀
+//   쓰기 스레드        조각 번호 순서대로 결과 파일에 쓰고 Batch 를 돌려줌
+// 빈 Batch 는 조각 순서대로 나눠 주므로 가장 앞선 조각은 항상 Batch 를 가지고 있음 (쓰기 스레드가 기다리다 멈추지 않음)
+public class BulkGrader {
+    static final int THREADS = Integer.getInteger("quiz.bulk.threads", Runtime.getRuntime().availableProcessors());
+    static final int CHUNK_BYTES = Integer.getInteger("quiz.bulk.chunkBytes", 1 << 20);
+    static final int BATCHES = Integer.getInteger("quiz.bulk.batches", THREADS * 2 + 2);
+    static final long WINDOW_BYTES = Long.getLong("quiz.bulk.windowBytes", 1L << 30);
+    static final int ID_WIDTH = Integer.getInteger("quiz.bulk.idWidth", 0);
+    static final String HEADER = System.getProperty("quiz.bulk.header", "auto");
+    static final long PROGRESS_NANOS = 2_000_000_000L;
+
+    private static final byte INVALID = '?';
+    // 입력 글자 → 답 바이트 (0 = 안 품, INVALID = 알 수 없는 글자)
+    private static final byte[] ANSWER = new byte[256];
+
+    static {
+        Arrays.fill(ANSWER, INVALID);
+        for (char c = AnswerSheet.MIN_KEY; c <= AnswerSheet.MAX_KEY; c++) {
+            ANSWER[c] = (byte) c;
+            ANSWER[Character.toLowerCase(c)] = (byte) c;
+        }
+        for (char d = '1'; d <= '9'; d++) {
+            ANSWER[d] = (byte) (AnswerSheet.MIN_KEY + (d - '1'));
+        }
+        for (char blank : new char[] {' ', '.', '-', '_', '*', '0'}) {
+            ANSWER[blank] = 0;
+        }
+    }
+
+    private static final Batch END = new Batch(0, 0);   // 작업 끝 표시
+
+    // 조각 하나 (입력 조각 + 답 배열 + 결과 줄), 다 쓰고 나면 다시 씀
+    static final class Batch {
+        long seq;                  // 조각 번호 (쓰기 순서)
+        long fileOffset;           // 조각이 파일에서 시작하는 위치
+        ByteBuffer input;          // 매핑한 입력 조각
+        byte[] answers;            // 답안지 count 장 (문제 수 바이트씩)
+        int[] idStart = new int[1024];   // 줄 s 의 응시자ID 위치 (input 안, 끝은 idEnd)
+        int[] idEnd = new int[1024];
+        int count;                 // 답안지 수
+        byte[] out;                // 결과 줄들
+        int outLength;
+        long invalid;              // 알 수 없는 답 글자 수
+        long malformed;            // 답 개수가 문제 수와 다른 줄 수
+        long scoreSum;
+        long headers;              // 머리글로 건너뛴 줄 수
+
+        Batch(int questions, int outBytes) {
+            answers = new byte[questions * 1024];
+            out = new byte[outBytes];
+        }
+
+        void reset(long seq, long fileOffset, ByteBuffer input) {
+            this.seq = seq;
+            this.fileOffset = fileOffset;
+            this.input = input;
+            count = 0;
+            outLength = 0;
+            invalid = 0;
+            malformed = 0;
+            scoreSum = 0;
+            headers = 0;
+        }
+    }
+
+    private final byte[] key;
+    private final int questions;
+    private final BlockingQueue<Batch> free;
+    private final BlockingQueue<Batch> work;
+    private final BlockingQueue<Batch> done;
+    private volatile Exception failure;     // 채점/쓰기 중 처음 난 오류 (나면 읽기를 멈추고 남은 조각은 버림)
+
+    BulkGrader(byte[] key) {
+        this.key = key;
+        this.questions = key.length;
+        this.free = new ArrayBlockingQueue<>(BATCHES);
+        this.work = new ArrayBlockingQueue<>(BATCHES + THREADS);
+        this.done = new ArrayBlockingQueue<>(BATCHES + THREADS);
+        for (int i = 0; i < BATCHES; i++) {
+            free.add(new Batch(questions, CHUNK_BYTES + (CHUNK_BYTES >>> 1)));
+        }
+    }
+
+    // 채점 결과 요약
+    record Summary(long sheets, long bytes, long invalid, long malformed, long headers, long scoreSum, long nanos) {
+        double sheetsPerSecond() {
+            return sheets / Math.max(1e-9, nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            double seconds = nanos / 1e9;
+            return String.format(Locale.ROOT,
+                    "답안지 %,d장, %.1f MB, %.2f초 → %,.0f 장/초 (%.1f MB/초), 평균 %.2f점, 알 수 없는 답 %,d개, 답 개수가 다른 줄 %,d개",
+                    sheets, bytes / 1e6, seconds, sheetsPerSecond(), bytes / 1e6 / Math.max(1e-9, seconds),
+                    sheets == 0 ? 0.0 : (double) scoreSum / sheets, invalid, malformed)
+                    + (headers > 0 ? String.format(Locale.ROOT, ", 머리글 %,d줄 건너뜀", headers) : "");
+        }
+    }
+
+    // input 을 채점해서 output 에 씀
+    Summary run(Path input, Path output) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < workers.length; t++) {
+            workers[t] = new Thread(this::workLoop, "bulk-grade-" + t);
+            workers[t].start();
+        }
+        long[] totals = new long[5];    // sheets, invalid, malformed, scoreSum, headers
+        Thread writer = new Thread(() -> {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+                writeLoop(out, totals, start);
+            } catch (IOException e) {
+                fail(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "bulk-write");
+        writer.start();
+
+        long size = 0;
+        try (FileChannel ch = FileChannel.open(input, StandardOpenOption.READ)) {
+            size = ch.size();
+            read(ch, size);
+        } catch (IOException e) {
+            fail(e);        // 다른 스레드도 정리하고 끝낸 뒤 던짐
+        } finally {
+            for (int t = 0; t < workers.length; t++) {
+                work.put(END);
+            }
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        done.put(END);
+        writer.join();
+        if (failure instanceof IOException e) {
+            throw e;
+        } else if (failure != null) {
+            throw new IOException("채점 중 오류: " + failure, failure);
+        }
+        return new Summary(totals[0], size, totals[1], totals[2], totals[4], totals[3], System.nanoTime() - start);
+    }
+
+    // 파일을 창 단위로 매핑하고 줄 경계에 맞춰 조각을 나눠 줌
+    private void read(FileChannel ch, long size) throws IOException, InterruptedException {
+        long seq = 0;
+        long pos = 0;
+        while (pos < size && failure == null) {
+            int len = (int) Math.min(Math.min(WINDOW_BYTES, Integer.MAX_VALUE), size - pos);
+            boolean eof = pos + len == size;
+            MappedByteBuffer window = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+            int off = 0;
+            while (off < len) {
+                int end = (int) Math.min(len, (long) off + CHUNK_BYTES);
+                if (end < len || !eof) {
+                    int cut = lastNewline(window, off, end);
+                    if (cut < 0) {
+                        cut = nextNewline(window, end, len);    // 조각보다 긴 줄
+                    }
+                    if (cut < 0) {
+                        if (!eof) {
+                            break;                             // 창 끝에서 잘린 줄은 다음 창에서
+                        }
+                        cut = len - 1;
+                    }
+                    end = cut + 1;
+                }
+                Batch b = free.take();
+                b.reset(seq++, pos + off, window.slice(off, end - off));
+                work.put(b);
+                off = end;
+            }
+            if (off == 0) {
+                throw new IOException("한 줄이 너무 깁니다 (" + WINDOW_BYTES + " 바이트 이상, 위치 " + pos + ")");
+            }
+            pos += off;
+        }
+    }
+
+    private static int lastNewline(ByteBuffer buf, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (buf.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int nextNewline(ByteBuffer buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void workLoop() {
+        try {
+            while (true) {
+                Batch b = work.take();
+                if (b == END) {
+                    return;
+                }
+                try {
+                    parse(b);
+                    grade(b);
+                } catch (RuntimeException e) {
+                    fail(e);
+                    b.count = 0;            // 순서를 지키기 위해 빈 조각으로 넘김
+                    b.outLength = 0;
+                }
+                done.put(b);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 조각을 줄 단위로 읽어서 b.answers / b.idStart / b.idEnd 에 채움
+    void parse(Batch b) {
+        ByteBuffer in = b.input;
+        int n = in.limit();
+        int line = 0;
+        boolean first = b.fileOffset == 0;      // 파일 맨 앞 조각이면 첫 데이터 줄이 머리글일 수 있음
+        while (line < n) {
+            int end = line;
+            while (end < n && in.get(end) != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            if (end > line && in.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end > line && in.get(line) != '#') {
+                if (first && isHeader(in, line, end)) {
+                    b.headers++;
+                } else {
+                    parseLine(b, in, line, end);
+                }
+                first = false;
+            }
+            line = next;
+        }
+    }
+
+    // 첫 데이터 줄이 머리글인지 (auto 면 응시자ID 칸이 "id", 앞의 UTF-8 BOM 과 공백은 무시)
+    private static boolean isHeader(ByteBuffer in, int from, int to) {
+        if (!HEADER.equalsIgnoreCase("auto")) {
+            return Boolean.parseBoolean(HEADER);
+        }
+        int idEnd = from;
+        if (ID_WIDTH > 0) {
+            idEnd = Math.min(to, from + ID_WIDTH);
+        } else {
+            while (idEnd < to && in.get(idEnd) != ',') {
+                idEnd++;
+            }
+        }
+        byte[] id = new byte[idEnd - from];
+        in.get(from, id);
+        return new String(id, StandardCharsets.UTF_8).replace("\uFEFF", "").trim().equalsIgnoreCase("id");
+    }
+
+    private void parseLine(Batch b, ByteBuffer in, int from, int to) {
+        int s = b.count;
+        if (s == b.idStart.length) {
+            b.idStart = Arrays.copyOf(b.idStart, s * 2);
+            b.idEnd = Arrays.copyOf(b.idEnd, s * 2);
+        }
+        b.answers = GradingEngine.ensureSheets(b.answers, s + 1, questions);
+        byte[] answers = b.answers;
+        int base = s * questions;
+        int idEnd;
+        int pos;
+        if (ID_WIDTH > 0) {
+            idEnd = Math.min(to, from + ID_WIDTH);
+            pos = idEnd;
+        } else {
+            idEnd = from;
+            while (idEnd < to && in.get(idEnd) != ',') {
+                idEnd++;
+            }
+            pos = Math.min(to, idEnd + 1);
+        }
+        int idStart = from;
+        while (idStart < idEnd && in.get(idStart) == ' ') {
+            idStart++;
+        }
+        int trimmedEnd = idEnd;
+        while (trimmedEnd > idStart && in.get(trimmedEnd - 1) == ' ') {
+            trimmedEnd--;
+        }
+
+        // 답 칸 - CSV 에서 쉼표가 더 있으면 문제마다 한 칸, 아니면 한 칸에 이어서
+        boolean columns = false;
+        if (ID_WIDTH == 0) {
+            for (int i = pos; i < to && !columns; i++) {
+                columns = in.get(i) == ',';
+            }
+        }
+        int q = 0;
+        long invalid = 0;
+        if (columns) {
+            int cell = pos;
+            while (cell <= to) {
+                int cellEnd = cell;
+                while (cellEnd < to && in.get(cellEnd) != ',') {
+                    cellEnd++;
+                }
+                byte a = 0;
+                for (int i = cell; i < cellEnd; i++) {
+                    byte c = ANSWER[in.get(i) & 0xFF];
+                    if (c != 0) {
+                        a = c;      // 칸 안의 공백은 무시하고 첫 답 글자
+                        break;
+                    }
+                }
+                if (q < questions) {
+                    answers[base + q] = a;
+                    invalid += a == INVALID ? 1 : 0;
+                }
+                q++;
+                cell = cellEnd + 1;
+            }
+        } else {
+            for (int i = pos; i < to; i++, q++) {
+                byte a = ANSWER[in.get(i) & 0xFF];
+                if (q < questions) {
+                    answers[base + q] = a;
+                    invalid += a == INVALID ? 1 : 0;
+                }
+            }
+        }
+        for (int k = q; k < questions; k++) {
+            answers[base + k] = 0;      // 모자란 답은 안 푼 것으로
+        }
+        if (q != questions) {
+            b.malformed++;
+        }
+        b.invalid += invalid;
+        b.idStart[s] = idStart;
+        b.idEnd[s] = trimmedEnd;
+        b.count = s + 1;
+    }
+
+    // 채점하고 결과 줄 만들기
+    void grade(Batch b) {
+        GradingEngine.Result result = new GradingEngine.Result(questions, b.count);
+        GradingEngine.gradeRange(key, b.answers, result, 0, b.count);
+        int lineMax = 64 + questions;
+        for (int s = 0; s < b.count; s++) {
+            int idLength = b.idEnd[s] - b.idStart[s];
+            if (b.outLength + idLength + lineMax > b.out.length) {
+                b.out = Arrays.copyOf(b.out, Math.max(b.out.length * 2, b.outLength + idLength + lineMax));
+            }
+            byte[] out = b.out;
+            int o = b.outLength;
+            b.input.get(b.idStart[s], out, o, idLength);
+            o += idLength;
+            int score = result.score(s);
+            b.scoreSum += score;
+            out[o++] = ',';
+            o = writeInt(out, o, score);
+            out[o++] = ',';
+            int base = s * questions;
+            int answered = 0;
+            for (int q = 0; q < questions; q++) {
+                answered += b.answers[base + q] != 0 ? 1 : 0;
+            }
+            o = writeInt(out, o, answered);
+            out[o++] = ',';
+            for (int q = 0; q < questions; q++) {
+                out[o++] = b.answers[base + q] == 0 ? (byte) '-' : result.isCorrect(s, q) ? (byte) 'O' : (byte) 'X';
+            }
+            out[o++] = '\n';
+            b.outLength = o;
+        }
+    }
+
+    private synchronized void fail(Exception e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    // 음이 아닌 정수를 글자로 (String 을 만들지 않음)
+    static int writeInt(byte[] out, int o, int value) {
+        if (value == 0) {
+            out[o++] = '0';
+            return o;
+        }
+        int digits = 0;
+        for (int v = value; v > 0; v /= 10) {
+            digits++;
+        }
+        for (int i = o + digits - 1; i >= o; i--) {
+            out[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return o + digits;
+    }
+
+    // 조각 번호 순서대로 쓰기 (먼저 끝난 뒤쪽 조각은 pending 에 잠시 보관)
+    // 쓰기에 실패해도 조각은 끝까지 받아서 돌려줌 (읽기/채점 스레드가 빈 Batch 를 기다리다 멈추지 않도록)
+    private void writeLoop(OutputStream out, long[] totals, long start) throws IOException, InterruptedException {
+        IOException error = null;
+        out.write("id,score,answered,marks\n".getBytes(StandardCharsets.US_ASCII));
+        Batch[] pending = new Batch[BATCHES];
+        long next = 0;
+        long lastProgress = start;
+        while (true) {
+            Batch b = done.take();
+            if (b == END) {
+                if (error != null) {
+                    throw error;
+                }
+                return;
+            }
+            pending[(int) (b.seq % BATCHES)] = b;
+            while (pending[(int) (next % BATCHES)] != null) {
+                Batch ready = pending[(int) (next % BATCHES)];
+                pending[(int) (next % BATCHES)] = null;
+                if (error == null) {
+                    try {
+                        out.write(ready.out, 0, ready.outLength);
+                    } catch (IOException e) {
+                        error = e;
+                        fail(e);
+                    }
+                }
+                totals[0] += ready.count;
+                totals[1] += ready.invalid;
+                totals[2] += ready.malformed;
+                totals[3] += ready.scoreSum;
+                totals[4] += ready.headers;
+                Metrics.counter("bulk.sheets").add(ready.count);
+                ready.input = null;     // 매핑한 창을 붙잡지 않도록
+                free.put(ready);
+                next++;
+            }
+            long now = System.nanoTime();
+            if (now - lastProgress >= PROGRESS_NANOS) {
+                lastProgress = now;
+                System.err.printf(Locale.ROOT, "... %,d장 (%,.0f 장/초)%n", totals[0], totals[0] / ((now - start) / 1e9));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("사용법: java BulkGrader <답안지파일> <결과파일>");
+            System.exit(1);
+        }
+        byte[] key = GradingEngine.answerKey(QuestionBank.load());
+        System.out.printf("문제 %d개, 채점 스레드 %d개, 조각 %d KB x %d%n", key.length, THREADS, CHUNK_BYTES >> 10, BATCHES);
+        try {
+            Summary summary = new BulkGrader(key).run(Path.of(args[0]), Path.of(args[1]));
+            System.out.println(summary);
+        } catch (IOException e) {
+            System.err.println("채점할 수 없습니다: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+// 문제 카드들을 필요할 때만 만들어서 CardLayout 슬롯에 채워 넣는 클래스
+// - 처음에는 빈 슬롯(JPanel)만 CardLayout에 등록해 두고
+// - 실제 문제 화면(Question.createPanel)은 그 카드가 처음 보일 때 만든다.
+// - 현재 카드 앞뒤 prefetch 개수만큼은 미리 만들어 두어 이동 시 끊김을 줄인다.
+// - evictIdleMs 가 0보다 크면 오랫동안 안 본 카드는 내용물을 버려서 메모리를 돌려준다.
+//   (선택한 답은 QuizApp 쪽에 저장되어 있으므로 다시 만들 때 그대로 복원된다)
+// - 빈 슬롯도 처음에는 보여줄 카드 주변만 CardLayout에 붙이고, 나머지는 attachBatch로 조금씩 붙인다.
+//   (CardLayout은 카드를 붙일 때마다 이름 목록 전체를 훑어서 문제 1만 개면 슬롯 등록만 몇 초 걸림)
+public class CardDeck {
+    // 시스템 프로퍼티로 동작 방식 조절 (-Dquiz.cards.lazy=false 하면 예전처럼 전부 미리 생성)
+    static final boolean LAZY = Boolean.parseBoolean(System.getProperty("quiz.cards.lazy", "true"));
+    static final int PREFETCH = Integer.getInteger("quiz.cards.prefetch", 1);
+    static final long EVICT_IDLE_MS = Long.getLong("quiz.cards.evictIdleMs", 0L);
+
+    private final JPanel mainPanel;          // 카드들이 들어있는 메인 패널
+    private final CardLayout cardLayout;     // 메인 패널의 카드 레이아웃
+    private final List<Question> questions;  // 카드 내용을 만들어 줄 Question 목록
+    private final JPanel[] slots;            // 문제별 빈 슬롯 (CardLayout에 등록된 실제 컴포넌트, 붙일 때 만듦)
+    private final boolean[] attached;        // 슬롯이 메인 패널(CardLayout)에 붙었는지 여부
+    private final boolean[] built;           // 슬롯에 문제 화면이 채워졌는지 여부
+    private final long[] lastShown;          // 문제별 마지막으로 화면에 보인 시각 (ms)
+    private final boolean lazy;
+    private final int prefetch;
+    private final long evictIdleMs;
+    private volatile int current = -1;       // 현재 보이는 카드 번호 (EdtWatchdog 이 다른 스레드에서 읽음)
+    private int attachedCount;               // 붙은 슬롯 수
+    private int nextAttach;                  // attachBatch 가 다음에 볼 번호
+    private int nextBuild;                   // lazy 가 아닐 때 attachBatch 가 다음에 만들 카드 번호
+    private long unitNanos;                  // attachBatch 에서 한 개 처리에 걸린 시간 (이동 평균)
+    private Timer evictTimer;                // 오래된 카드 정리용 타이머
+
+    public CardDeck(JPanel mainPanel, CardLayout cardLayout, List<Question> questions) {
+        this(mainPanel, cardLayout, questions, LAZY, PREFETCH, EVICT_IDLE_MS);
+    }
+
+    public CardDeck(JPanel mainPanel, CardLayout cardLayout, List<Question> questions,
+                    boolean lazy, int prefetch, long evictIdleMs) {
+        this.mainPanel = mainPanel;
+        this.cardLayout = cardLayout;
+        this.questions = questions;
+        this.lazy = lazy;
+        this.prefetch = Math.max(0, prefetch);
+        this.evictIdleMs = evictIdleMs;
+        this.slots = new JPanel[questions.size()];
+        this.attached = new boolean[questions.size()];
+        this.built = new boolean[questions.size()];
+        this.lastShown = new long[questions.size()];
+
+        // 빈 슬롯은 show 나 attachBatch 가 메인 패널에 붙일 때 만듦 (처음 화면에는 첫 카드 주변만)
+        // lazy 모드가 아니면 attachBatch 가 슬롯을 붙이면서 카드도 같이 만듦 (전부 끝나면 예전과 같음)
+
+        // 오래된 카드 정리 타이머 (EDT에서 돌기 때문에 Swing 컴포넌트를 바로 만져도 안전)
+        if (lazy && evictIdleMs > 0) {
+            int period = (int) Math.max(1000, Math.min(evictIdleMs / 2, Integer.MAX_VALUE));
+            evictTimer = new Timer(period, e -> evictIdle(System.currentTimeMillis()));
+            evictTimer.start();
+        }
+    }
+
+    // 해당 문제 카드로 이동 (필요하면 그 자리에서 생성 + 주변 카드 미리 생성)
+    public void show(int index) {
+        if (index < 0 || index >= slots.length) {
+            return;
+        }
+        attach(index);
+        ensureBuilt(index);
+        current = index;
+        lastShown[index] = System.currentTimeMillis();
+        cardLayout.show(mainPanel, "Q" + index);
+
+        // 앞뒤 prefetch 개수만큼 미리 만들어 두기
+        for (int d = 1; d <= prefetch; d++) {
+            ensureBuilt(index - d);
+            ensureBuilt(index + d);
+        }
+    }
+
+    // 아직 안 붙은 슬롯을 앞에서부터 budgetNanos 동안만 붙임 (lazy 가 아니면 카드도 만듦)
+    // 남은 일이 있으면 true → 호출한 쪽이 다음 프레임에 다시 부름 (StartupSequencer)
+    // (한 개에 걸리는 시간을 평균 내서, 다음 것이 예산을 넘길 것 같으면 거기서 멈춤 - 최소 한 개는 처리)
+    public boolean attachBatch(long budgetNanos) {
+        long now = System.nanoTime();
+        long deadline = now + budgetNanos;
+        do {
+            while (nextAttach < slots.length && attached[nextAttach]) {
+                nextAttach++;
+            }
+            while (!lazy && nextBuild < slots.length && built[nextBuild]) {
+                nextBuild++;
+            }
+            if (nextAttach < slots.length) {
+                attach(nextAttach);
+            } else if (!lazy && nextBuild < slots.length) {
+                ensureBuilt(nextBuild);
+            } else {
+                return false;
+            }
+            long end = System.nanoTime();
+            unitNanos += (end - now - unitNanos) / 4;
+            now = end;
+        } while (now + unitNanos < deadline);
+        return true;
+    }
+
+    // 슬롯을 메인 패널에 붙임 (순서는 상관없음, CardLayout은 이름으로 찾음)
+    private void attach(int index) {
+        if (index < 0 || index >= slots.length || attached[index]) {
+            return;
+        }
+        slots[index] = new JPanel(new BorderLayout());
+        mainPanel.add(slots[index], "Q" + index);
+        attached[index] = true;
+        attachedCount++;
+    }
+
+    // 붙은 슬롯 수
+    public int attachedCount() {
+        return attachedCount;
+    }
+
+    // 슬롯이 비어 있으면 문제 화면을 만들어 채움
+    public void ensureBuilt(int index) {
+        if (index < 0 || index >= slots.length || built[index]) {
+            return;
+        }
+        attach(index);
+        Question question = questions.get(index);
+        QuizEvents.CreatePanel event = QuizEvents.beginCreatePanel();
+        slots[index].add(question.createPanel(), BorderLayout.CENTER);
+        QuizEvents.panelCreated(event, index);
+        built[index] = true;
+        lastShown[index] = System.currentTimeMillis(); // 미리 만든 카드도 바로 버려지지 않게
+        slots[index].revalidate();
+    }
+
+    // index 번 카드의 Question 이 바뀌었을 때 (문제은행 다시 읽기) - 이미 만들어진 카드면 같은 슬롯 안에서 내용물만 새로 만듦
+    // (슬롯은 CardLayout 에 그대로 있으므로 보고 있던 카드도 그 자리에서 바뀜, 안 만들어진 카드는 나중에 새 Question 으로 만들어짐)
+    public void replace(int index, Question old) {
+        if (index < 0 || index >= slots.length || !built[index]) {
+            return;
+        }
+        slots[index].removeAll();
+        old.releasePanel();
+        built[index] = false;
+        ensureBuilt(index);
+        slots[index].repaint();
+    }
+
+    // 일정 시간 이상 안 본 카드의 내용물을 버림 (현재 카드와 prefetch 범위는 제외)
+    void evictIdle(long now) {
+        for (int i = 0; i < slots.length; i++) {
+            if (!built[i] || Math.abs(i - current) <= prefetch) {
+                continue;
+            }
+            if (now - lastShown[i] >= evictIdleMs) {
+                slots[i].removeAll();
+                questions.get(i).releasePanel();
+                built[i] = false;
+            }
+        }
+    }
+
+    // 현재 보이는 카드 번호
+    public int getCurrent() {
+        return current;
+    }
+
+    // 해당 카드가 지금 만들어져 있는지 여부
+    public boolean isBuilt(int index) {
+        return built[index];
+    }
+
+    // 타이머 정리
+    public void dispose() {
+        if (evictTimer != null) {
+            evictTimer.stop();
+        }
+    }
+}
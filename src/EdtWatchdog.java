@@ -0,0 +1,218 @@
+import javax.swing.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+// 화면이 잠깐씩 "멈추는" 원인을 찾기 위한 EDT 감시 스레드
+// - INTERVAL_MS 마다 EDT 에 빈 작업(heartbeat)을 넣고, 실제로 실행되기까지 걸린 시간을 잰다.
+// - 그 시간이 THRESHOLD_MS 를 넘으면 EDT 가 막혀 있는 것 → 풀릴 때까지 SAMPLE_MS 마다 EDT 스택을 떠 둔다.
+// - 멈춤이 끝나면 (몇 번 문제 카드가 보이고 있었는지와 함께) 스택 샘플을 모아서 집계한다.
+// - report() 는 어느 코드에서 가장 많이 멈췄는지 순위로 보여준다.
+// 사용법: -Dquiz.watchdog=true (종료 시 보고서를 -Dquiz.watchdog.out 파일, 없으면 표준 에러로 출력)
+public class EdtWatchdog {
+    static final boolean ENABLED = Boolean.getBoolean("quiz.watchdog");
+    static final long INTERVAL_MS = Long.getLong("quiz.watchdog.intervalMs", 20L);
+    static final long THRESHOLD_MS = Long.getLong("quiz.watchdog.thresholdMs", 50L);
+    static final long SAMPLE_MS = Long.getLong("quiz.watchdog.sampleMs", 10L);
+    static final int TOP = 10;           // 보고서에 보여줄 순위 수
+    static final int STACK_DEPTH = 12;   // 예시로 보여줄 스택 깊이
+
+    private final IntSupplier visibleCard;  // 지금 보이는 카드 번호 (없으면 -1)
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private volatile Thread edt;             // 첫 heartbeat 에서 알아냄
+    private volatile long postedAt;          // 마지막 heartbeat 를 넣은 시각 (ns)
+    private volatile QuizEvents.EdtStall stallEvent;  // 마지막 heartbeat 를 넣을 때 시작한 JFR 구간 (멈춤이면 기록)
+    private volatile boolean pending;        // heartbeat 가 아직 실행되지 않음
+
+    // 집계 (감시 스레드만 갱신, report() 는 this 락으로 읽음)
+    private final List<StackTraceElement[]> currentSamples = new ArrayList<>();
+    private int stallCard = -1;
+    private long stalls;
+    private long stallNanos;
+    private long longestNanos;
+    private int longestCard = -1;
+    private final Map<String, Integer> appFrames = new HashMap<>();     // 첫 앱 코드 프레임별 샘플 수
+    private final Map<String, Integer> leafFrames = new HashMap<>();    // 맨 위 프레임별 샘플 수
+    private final Map<Integer, Integer> stallsByCard = new HashMap<>(); // 카드별 멈춤 횟수
+    private final Map<String, StackTraceElement[]> examples = new HashMap<>(); // 앱 프레임별 예시 스택
+
+    private EdtWatchdog(IntSupplier visibleCard) {
+        this.visibleCard = visibleCard;
+        this.thread = new Thread(this::run, "edt-watchdog");
+        this.thread.setDaemon(true);
+    }
+
+    // 감시 시작
+    public static EdtWatchdog start(IntSupplier visibleCard) {
+        EdtWatchdog watchdog = new EdtWatchdog(visibleCard);
+        watchdog.thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(watchdog::writeReport, "edt-watchdog-report"));
+        return watchdog;
+    }
+
+    public void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    private void run() {
+        long thresholdNanos = THRESHOLD_MS * 1_000_000L;
+        try {
+            while (running) {
+                if (!pending) {
+                    pending = true;
+                    stallEvent = QuizEvents.beginEdtStall();
+                    postedAt = System.nanoTime();
+                    SwingUtilities.invokeLater(this::heartbeat);
+                    Thread.sleep(INTERVAL_MS);
+                    continue;
+                }
+                long waited = System.nanoTime() - postedAt;
+                Thread target = edt;
+                if (waited >= thresholdNanos && target != null) {
+                    sample(target);
+                    Thread.sleep(SAMPLE_MS);
+                } else {
+                    Thread.sleep(Math.min(SAMPLE_MS, INTERVAL_MS));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // EDT 에서 실행 - 넣은 뒤 실행되기까지 걸린 시간 기록
+    private void heartbeat() {
+        long delay = System.nanoTime() - postedAt;
+        edt = Thread.currentThread();
+        Metrics.histogram("edt.heartbeatDelay").record(delay);
+        synchronized (this) {
+            if (!currentSamples.isEmpty()) {
+                finishStall(delay);
+            }
+            pending = false;
+        }
+    }
+
+    // 막혀 있는 EDT 의 스택 한 장
+    private void sample(Thread target) {
+        StackTraceElement[] stack = target.getStackTrace();
+        synchronized (this) {
+            if (!pending) {
+                return;     // 스택을 뜨는 사이에 이미 풀림
+            }
+            if (currentSamples.isEmpty()) {
+                stallCard = visibleCard.getAsInt();
+            }
+            currentSamples.add(stack);
+        }
+    }
+
+    // 멈춤 하나가 끝남 - 샘플을 집계에 반영 (this 락 보유 상태)
+    private void finishStall(long nanos) {
+        stalls++;
+        stallNanos += nanos;
+        if (nanos > longestNanos) {
+            longestNanos = nanos;
+            longestCard = stallCard;
+        }
+        stallsByCard.merge(stallCard, 1, Integer::sum);
+        String firstApp = null;
+        for (StackTraceElement[] stack : currentSamples) {
+            if (stack.length == 0) {
+                continue;
+            }
+            leafFrames.merge(frame(stack[0]), 1, Integer::sum);
+            String app = frame(firstAppFrame(stack));
+            appFrames.merge(app, 1, Integer::sum);
+            examples.putIfAbsent(app, stack);
+            if (firstApp == null) {
+                firstApp = app;
+            }
+        }
+        Metrics.histogram("edt.stall").record(nanos);
+        QuizEvents.edtStall(stallEvent, stallCard, currentSamples.size(), firstApp);
+        currentSamples.clear();
+        stallCard = -1;
+    }
+
+    // 이 앱의 클래스는 기본 패키지라서 이름에 '.' 이 없음 → 가장 위에 있는 앱 코드 프레임
+    static StackTraceElement firstAppFrame(StackTraceElement[] stack) {
+        for (StackTraceElement e : stack) {
+            if (e.getClassName().indexOf('.') < 0) {
+                return e;
+            }
+        }
+        return stack[0];
+    }
+
+    private static String frame(StackTraceElement e) {
+        return e.getClassName() + "." + e.getMethodName()
+                + (e.getLineNumber() > 0 ? ":" + e.getLineNumber() : "");
+    }
+
+    // 집계된 멈춤 보고서
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "EDT 멈춤 %d회 (기준 %dms), 합계 %.1fms, 최장 %.1fms (Q%d)%n",
+                stalls, THRESHOLD_MS, stallNanos / 1_000_000.0, longestNanos / 1_000_000.0, longestCard + 1));
+        if (stalls == 0) {
+            return sb.toString();
+        }
+        sb.append(String.format(Locale.ROOT, "heartbeat 지연: %s%n", Metrics.histogram("edt.heartbeatDelay")));
+
+        sb.append("\n카드별 멈춤 횟수\n");
+        stallsByCard.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed())
+                .limit(TOP)
+                .forEach(e -> sb.append(String.format("  %s  %d%n", e.getKey() < 0 ? "(카드 없음)" : "Q" + (e.getKey() + 1), e.getValue())));
+
+        sb.append("\n앱 코드 기준 (샘플 수)\n");
+        appendTop(sb, appFrames);
+        sb.append("\n맨 위 프레임 기준 (샘플 수)\n");
+        appendTop(sb, leafFrames);
+
+        sb.append("\n가장 많이 잡힌 앱 코드의 예시 스택\n");
+        appFrames.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(3)
+                .forEach(e -> {
+                    sb.append("  ").append(e.getKey()).append('\n');
+                    StackTraceElement[] stack = examples.get(e.getKey());
+                    for (int i = 0; i < Math.min(STACK_DEPTH, stack.length); i++) {
+                        sb.append("      at ").append(stack[i]).append('\n');
+                    }
+                });
+        return sb.toString();
+    }
+
+    private static void appendTop(StringBuilder sb, Map<String, Integer> counts) {
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(TOP)
+                .forEach(e -> sb.append(String.format("  %5d  %s%n", e.getValue(), e.getKey())));
+    }
+
+    private void writeReport() {
+        String report = report();
+        String out = System.getProperty("quiz.watchdog.out");
+        if (out == null || out.isEmpty()) {
+            System.err.print(report);
+            return;
+        }
+        try {
+            Files.writeString(Path.of(out), report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("EDT 감시 보고서를 저장하지 못했습니다: " + e.getMessage());
+        }
+    }
+}
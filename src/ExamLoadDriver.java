@@ -0,0 +1,112 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// ExamServer 를 localhost 에 띄우고 가상의 응시자 여러 명이 동시에 시험을 보게 하는 부하 시험 도구
+// 사용법: java ExamLoadDriver [응시자수=2000] [동시실행수=200]
+// 응시자마다: 세션 생성 → 모든 문제 조회 → 모든 문제 답 제출 → 최종 제출, 채점 결과를 직접 계산한 점수와 비교
+public class ExamLoadDriver {
+    private static final Pattern SESSION = Pattern.compile("\"session\":\"([^\"]+)\"");
+    private static final Pattern SCORE = Pattern.compile("\"score\":(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        int candidates = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        QuestionBank bank = QuestionBank.load();
+        ExamServer server = new ExamServer(bank);
+        server.start(0);
+        String base = "http://127.0.0.1:" + server.getPort();
+        byte[] key = GradingEngine.answerKey(bank);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        // HttpClient 는 자기 스레드 풀을 따로 씀 (응시자 스레드를 같이 쓰면 응답 처리할 스레드가 없어 멈춤)
+        // JDK HttpServer 는 HTTP/2 업그레이드를 지원하지 않으므로 HTTP/1.1 로 고정
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger requests = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> runs = new ArrayList<>(candidates);
+        for (int c = 0; c < candidates; c++) {
+            int candidate = c;
+            runs.add(CompletableFuture.runAsync(() -> {
+                try {
+                    runCandidate(client, base, bank, key, candidate, requests);
+                } catch (Exception | AssertionError e) {
+                    if (failures.incrementAndGet() <= 5) {
+                        System.err.println("응시자 " + candidate + " 실패: " + e);
+                    }
+                }
+            }, workers));
+        }
+        CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[0])).join();
+        long took = System.nanoTime() - start;
+
+        double seconds = took / 1_000_000_000.0;
+        System.out.printf("응시자 %d명, 요청 %d건, 실패 %d명, %.2f초 (%.0f 요청/초), 세션 %d개%n",
+                candidates, requests.get(), failures.get(), seconds, requests.get() / seconds, server.sessionCount());
+
+        workers.shutdown();
+        server.stop();
+        if (failures.get() > 0) {
+            System.exit(1);
+        }
+    }
+
+    // 응시자 한 명의 시험 진행
+    private static void runCandidate(HttpClient client, String base, QuestionBank bank, byte[] key,
+                                     int candidate, AtomicInteger requests) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(candidate);
+        String created = send(client, HttpRequest.newBuilder(URI.create(base + "/sessions"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), 201, requests);
+        Matcher m = SESSION.matcher(created);
+        if (!m.find()) {
+            throw new AssertionError("세션 id 없음: " + created);
+        }
+        String session = base + "/sessions/" + m.group(1);
+
+        int expected = 0;
+        for (int i = 0; i < bank.size(); i++) {
+            send(client, HttpRequest.newBuilder(URI.create(base + "/questions/" + i)).GET().build(), 200, requests);
+            char[] keys = bank.keys(i);
+            char choice = keys[random.nextInt(keys.length)];
+            if (choice == key[i]) {
+                expected++;
+            }
+            send(client, HttpRequest.newBuilder(URI.create(session + "/answers/" + i))
+                    .POST(HttpRequest.BodyPublishers.ofString(String.valueOf(choice))).build(), 204, requests);
+        }
+
+        String graded = send(client, HttpRequest.newBuilder(URI.create(session + "/submit"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), 200, requests);
+        Matcher s = SCORE.matcher(graded);
+        if (!s.find() || Integer.parseInt(s.group(1)) != expected) {
+            throw new AssertionError("점수 불일치: 기대 " + expected + ", 응답 " + graded);
+        }
+        // 두 번째 제출은 거절되어야 함
+        send(client, HttpRequest.newBuilder(URI.create(session + "/submit"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), 409, requests);
+    }
+
+    private static String send(HttpClient client, HttpRequest request, int expectedStatus,
+                               AtomicInteger requests) throws IOException, InterruptedException {
+        HttpResponse<String> res = client.send(request, HttpResponse.BodyHandlers.ofString());
+        requests.incrementAndGet();
+        if (res.statusCode() != expectedStatus) {
+            throw new AssertionError(request.method() + " " + request.uri() + " → " + res.statusCode() + " " + res.body());
+        }
+        return res.body();
+    }
+}
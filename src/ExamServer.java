@@ -0,0 +1,358 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 한 대의 PC에서 교실 전체가 같은 문제은행으로 시험을 볼 수 있게 해 주는 HTTP 서버 모드
+// 사용법: java ExamServer [포트]     (-Dquiz.bank 로 문제은행 파일 지정 가능)
+// 기본은 이 PC 에서만 접속 가능 (127.0.0.1), 교실 PC 에서 접속하려면 -Dquiz.server.host=0.0.0.0
+// 세션은 최대 quiz.server.maxSessions 개, quiz.server.sessionIdleMin 분 동안 요청이 없으면 지움
+//
+//   GET  /exam                         → {"count":문제수}
+//   GET  /questions/{번호}             → 문제 JSON (정답은 포함하지 않음, 0부터 시작)
+//   POST /sessions                     → 새 시험 세션 생성 {"session":"id"}
+//   GET  /sessions/{id}                → 지금까지 고른 답 {"answers":"AB.C..","submitted":false}
+//   POST /sessions/{id}/answers/{번호} → 본문에 선택지 키 한 글자 (예: A)
+//   POST /sessions/{id}/submit         → 제출 + 채점 {"score":맞은개수,"total":문제수,"wrong":[틀린 번호...]}
+//
+// 문제 JSON은 서버 시작 때 한 번만 만들어 두고 같은 바이트 배열을 계속 보낸다.
+// 제출/채점 규칙은 Swing 화면과 같이 ExamSession 을 쓴다. (모두 풀어야 제출 가능, 한 번만 제출)
+public class ExamServer {
+    static final String HOST = System.getProperty("quiz.server.host", "127.0.0.1");
+    static final int MAX_SESSIONS = Integer.getInteger("quiz.server.maxSessions", 10_000);
+    static final long SESSION_IDLE_MS = Long.getLong("quiz.server.sessionIdleMin", 240L) * 60_000L;
+
+    private final QuestionBank bank;
+    private final byte[] answerKey;
+    private final List<byte[]> questionPayloads;   // 문제별로 미리 만든 JSON (만든 뒤에는 바꾸지 않음)
+    private final byte[] examPayload;              // /exam 응답
+    private final ConcurrentHashMap<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger reserved = new AtomicInteger();   // 세션 자리 수 (넣기 전에 잡고 지울 때 돌려줌 - MAX_SESSIONS 를 넘지 않게)
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ExamServer(QuestionBank bank) {
+        this.bank = bank;
+        this.answerKey = GradingEngine.answerKey(bank);
+        List<byte[]> payloads = new ArrayList<>(bank.size());
+        for (int i = 0; i < bank.size(); i++) {
+            payloads.add(renderQuestion(i, bank.get(i)).getBytes(StandardCharsets.UTF_8));
+        }
+        this.questionPayloads = Collections.unmodifiableList(payloads);
+        this.examPayload = ("{\"count\":" + bank.size() + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 서버 시작 (port 가 0이면 남는 포트 자동 선택)
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(HOST, port), 1024);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/exam", ex -> handle(ex, this::exam));
+        server.createContext("/questions/", ex -> handle(ex, this::question));
+        server.createContext("/sessions", ex -> handle(ex, this::sessions));
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    // 실제로 열린 포트
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    // 세션 + 마지막 요청 시각
+    private static final class Entry {
+        final ExamSession session;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        Entry(ExamSession session) {
+            this.session = session;
+        }
+
+        boolean idle(long now) {
+            return now - lastUsed >= SESSION_IDLE_MS;
+        }
+    }
+
+    // 오래 쓰지 않은 세션 지우기 (새 세션을 만들 자리가 없을 때)
+    private void expireIdle() {
+        long now = System.currentTimeMillis();
+        sessions.forEach((id, e) -> {
+            if (e.idle(now)) {
+                drop(id, e);
+            }
+        });
+    }
+
+    // 세션 자리 하나 잡기 (여러 요청이 동시에 와도 MAX_SESSIONS 를 넘지 않음, 자리가 없으면 false)
+    private boolean reserve() {
+        int n;
+        do {
+            n = reserved.get();
+            if (n >= MAX_SESSIONS) {
+                return false;
+            }
+        } while (!reserved.compareAndSet(n, n + 1));
+        return true;
+    }
+
+    // 세션 지우고 자리 돌려주기 (다른 요청이 먼저 지웠으면 아무것도 안 함)
+    private void drop(String id, Entry entry) {
+        if (sessions.remove(id, entry)) {
+            reserved.decrementAndGet();
+        }
+    }
+
+    // 요청 하나당 스레드 하나. 가상 스레드를 쓸 수 있는 JDK(21+)면 가상 스레드, 아니면 스레드 풀
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Integer.getInteger("quiz.server.threads", Runtime.getRuntime().availableProcessors() * 8);
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "exam-http");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // 처리 결과 (상태 코드 + 보낼 바이트)
+    private record Response(int status, byte[] body) {
+        static Response json(int status, String json) {
+            return new Response(status, json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Response error(int status, String message) {
+            return json(status, "{\"error\":" + quote(message) + "}");
+        }
+    }
+
+    private interface Route {
+        Response apply(HttpExchange ex, String[] parts) throws IOException;
+    }
+
+    // 공통 처리 - 경로를 '/' 로 나누고, 응답을 보내고, 예외는 500 으로
+    private void handle(HttpExchange ex, Route route) throws IOException {
+        Response res;
+        try {
+            String path = ex.getRequestURI().getPath();
+            String[] parts = path.substring(1).split("/");
+            res = route.apply(ex, parts);
+        } catch (NumberFormatException e) {
+            res = Response.error(400, "잘못된 번호입니다");
+        } catch (RuntimeException e) {
+            // 내부 메시지는 응답에 넣지 않고 서버 로그에만
+            System.err.println("요청 처리 중 오류: " + ex.getRequestMethod() + " " + ex.getRequestURI() + " (" + e + ")");
+            res = Response.error(500, "서버 오류입니다");
+        }
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (res.body.length == 0) {
+            ex.sendResponseHeaders(res.status, -1);
+        } else {
+            ex.sendResponseHeaders(res.status, res.body.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(res.body);
+            }
+        }
+        ex.close();
+    }
+
+    // GET /exam
+    private Response exam(HttpExchange ex, String[] parts) {
+        if (!ex.getRequestMethod().equals("GET")) {
+            return Response.error(405, "GET 만 가능합니다");
+        }
+        return new Response(200, examPayload);
+    }
+
+    // GET /questions/{번호}
+    private Response question(HttpExchange ex, String[] parts) {
+        if (!ex.getRequestMethod().equals("GET") || parts.length != 2) {
+            return Response.error(404, "없는 주소입니다");
+        }
+        int index = Integer.parseInt(parts[1]);
+        if (index < 0 || index >= questionPayloads.size()) {
+            return Response.error(404, "없는 문제입니다");
+        }
+        return new Response(200, questionPayloads.get(index));
+    }
+
+    // /sessions 아래 주소들
+    private Response sessions(HttpExchange ex, String[] parts) throws IOException {
+        String method = ex.getRequestMethod();
+        if (parts.length == 1) {
+            if (!method.equals("POST")) {
+                return Response.error(405, "POST 만 가능합니다");
+            }
+            if (!reserve()) {
+                expireIdle();
+                if (!reserve()) {
+                    return Response.error(503, "세션이 너무 많습니다");
+                }
+            }
+            String id = UUID.randomUUID().toString();
+            sessions.put(id, new Entry(new ExamSession(id, answerKey)));
+            return Response.json(201, "{\"session\":" + quote(id) + "}");
+        }
+
+        Entry entry = sessions.get(parts[1]);
+        long now = System.currentTimeMillis();
+        if (entry != null && entry.idle(now)) {
+            drop(parts[1], entry);
+            entry = null;
+        }
+        if (entry == null) {
+            return Response.error(404, "없는 세션입니다");
+        }
+        entry.lastUsed = now;
+        ExamSession session = entry.session;
+
+        if (parts.length == 2 && method.equals("GET")) {
+            byte[] answers = session.getAnswerSheet().toBytes();
+            StringBuilder sb = new StringBuilder(answers.length);
+            for (byte b : answers) {
+                sb.append(b == 0 ? '.' : (char) b);
+            }
+            return Response.json(200, "{\"answers\":" + quote(sb.toString()) + ",\"submitted\":" + session.isSubmitted() + "}");
+        }
+
+        if (parts.length == 4 && parts[2].equals("answers") && (method.equals("POST") || method.equals("PUT"))) {
+            int index = Integer.parseInt(parts[3]);
+            if (index < 0 || index >= bank.size()) {
+                return Response.error(404, "없는 문제입니다");
+            }
+            String body = readBody(ex).trim();
+            if (body.length() != 1 || !isKeyOf(bank.keys(index), body.charAt(0))) {
+                return Response.error(400, "선택지 키가 올바르지 않습니다");
+            }
+            if (!session.answer(index, body.charAt(0))) {
+                return Response.error(409, "이미 정답을 제출했습니다");
+            }
+            return new Response(204, new byte[0]);
+        }
+
+        if (parts.length == 3 && parts[2].equals("submit") && method.equals("POST")) {
+            ExamSession.SubmitStatus status = session.submit();
+            if (status == ExamSession.SubmitStatus.ALREADY_SUBMITTED) {
+                return Response.error(409, "이미 정답을 제출했습니다");
+            }
+            if (status == ExamSession.SubmitStatus.INCOMPLETE) {
+                return Response.error(422, "모든 문제를 풀어야 합니다");
+            }
+            GradingEngine.Result result = session.getResult();
+            StringBuilder sb = new StringBuilder();
+            sb.append("{\"score\":").append(result.score(0)).append(",\"total\":").append(bank.size()).append(",\"wrong\":[");
+            boolean first = true;
+            for (int i = result.nextWrong(0, 0); i >= 0; i = result.nextWrong(0, i + 1)) {
+                if (!first) {
+                    sb.append(',');
+                }
+                sb.append(i + 1);
+                first = false;
+            }
+            sb.append("]}");
+            return Response.json(200, sb.toString());
+        }
+        return Response.error(404, "없는 주소입니다");
+    }
+
+    private static boolean isKeyOf(char[] keys, char key) {
+        for (char k : keys) {
+            if (k == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String readBody(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody()) {
+            return new String(in.readNBytes(64), StandardCharsets.UTF_8);
+        }
+    }
+
+    // 문제 하나를 JSON 으로 (정답은 넣지 않음)
+    static String renderQuestion(int index, QuestionConfig cfg) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"index\":").append(index)
+          .append(",\"questionText\":").append(quote(cfg.questionText))
+          .append(",\"passage\":").append(quote(cfg.passage))
+          .append(",\"image\":").append(cfg.hasImage ? quote(cfg.imagePath) : "null")
+          .append(",\"choices\":[");
+        for (int i = 0; i < cfg.choices.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"key\":").append(quote(String.valueOf(cfg.keys[i])))
+              .append(",\"text\":").append(quote(cfg.choices[i])).append('}');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    // JSON 문자열 따옴표 처리
+    static String quote(String s) {
+        if (s == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(s.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("quiz.server.port", 8080);
+        QuestionBank bank = QuestionBank.load();
+        QuestionBankValidator.Report report = QuestionBankValidator.validate(bank);
+        if (!report.isValid()) {
+            System.err.println(report);
+            System.exit(1);
+        }
+        ExamServer server = new ExamServer(bank);
+        server.start(port);
+        System.out.println("시험 서버 시작: http://" + HOST + ":" + server.getPort() + "/exam (" + bank.size() + " 문제)");
+    }
+}
@@ -0,0 +1,111 @@
+// 응시자 한 명의 시험 진행 상태 (답안지 + 제출 여부 + 채점 결과)
+// - Swing 화면(QuizApp)과 서버 모드(ExamServer)가 같은 제출/채점 규칙을 쓰도록 한 곳에 모아 둠
+//   · 모든 문제에 답해야 제출 가능
+//   · 한 번 제출하면 다시 제출하거나 답을 바꿀 수 없음
+//   · 채점은 GradingEngine 으로
+// - 답 기록은 synchronized 로 묶어서, 여러 요청 스레드가 와도 AnswerSheet 입장에서는 쓰는 쪽이 하나
+public class ExamSession {
+    // 제출 시도 결과
+    public enum SubmitStatus {
+        OK,                 // 제출 + 채점 완료
+        ALREADY_SUBMITTED,  // 이미 제출했음
+        INCOMPLETE          // 안 푼 문제가 있음
+    }
+
+    private final String id;
+    private final byte[] answerKey;        // 정답 키 (문제당 1바이트, 문제은행 순서)
+    private final ExamVariant variant;     // 응시자별 문제/선택지 순서 (섞지 않으면 null) - 답안지는 화면 순서로 기록됨
+    private final AnswerSheet sheet;
+    private volatile byte[] gradedSheet;   // 채점한 답안지 (문제은행 순서로 되돌린 것, 제출 전이면 null)
+    private volatile boolean submitted;
+    private volatile GradingEngine.Result result;
+
+    public ExamSession(String id, byte[] answerKey) {
+        this(id, answerKey, null);
+    }
+
+    public ExamSession(String id, byte[] answerKey, ExamVariant variant) {
+        this.id = id;
+        this.answerKey = answerKey;
+        this.variant = variant;
+        this.sheet = new AnswerSheet(answerKey.length);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public AnswerSheet getAnswerSheet() {
+        return sheet;
+    }
+
+    public boolean isSubmitted() {
+        return submitted;
+    }
+
+    // 답 기록 (제출 후에는 false 반환하고 무시)
+    public synchronized boolean answer(int index, char key) {
+        if (submitted) {
+            return false;
+        }
+        sheet.set(index, key);
+        return true;
+    }
+
+    // 문제은행을 다시 읽어서 정답이 바뀐 경우 (문제은행 번호, 제출 후에는 채점이 끝났으므로 false 반환하고 무시)
+    public synchronized boolean updateAnswerKey(int bankIndex, char key) {
+        if (submitted) {
+            return false;
+        }
+        answerKey[bankIndex] = (byte) key;
+        return true;
+    }
+
+    // 지금 제출할 수 있는 상태인지 (확인 창을 띄우기 전에 검사용)
+    public SubmitStatus checkSubmittable() {
+        if (submitted) {
+            return SubmitStatus.ALREADY_SUBMITTED;
+        }
+        if (!sheet.isComplete()) {
+            return SubmitStatus.INCOMPLETE;
+        }
+        return SubmitStatus.OK;
+    }
+
+    // 제출 + 채점
+    public synchronized SubmitStatus submit() {
+        SubmitStatus status = checkSubmittable();
+        if (status != SubmitStatus.OK) {
+            return status;
+        }
+        QuizEvents.SubmitGrade event = QuizEvents.beginSubmitGrade();
+        byte[] bytes = sheet.toBytes();
+        if (variant != null) {
+            variant.unpermute(bytes, 0);    // 화면 순서 → 문제은행 순서 (새 배열 없이 제자리에서)
+        }
+        result = GradingEngine.grade(answerKey, bytes);
+        gradedSheet = bytes;
+        submitted = true;
+        QuizEvents.submitted(event, id, answerKey.length, result.score(0));
+        return SubmitStatus.OK;
+    }
+
+    // 채점 결과 (제출 전이면 null)
+    public GradingEngine.Result getResult() {
+        return result;
+    }
+
+    public byte[] getAnswerKey() {
+        return answerKey;
+    }
+
+    // 채점한 답안지 - 정답 키와 같은 문제은행 순서 (제출 전이면 null)
+    public byte[] getGradedSheet() {
+        return gradedSheet;
+    }
+
+    // 응시자별 순서표 (섞지 않으면 null)
+    public ExamVariant getVariant() {
+        return variant;
+    }
+}
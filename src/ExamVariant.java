@@ -0,0 +1,200 @@
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+// 응시자마다 문제 순서와 선택지 순서를 다르게 보여주기 위한 순서표 (옆 사람 답 베끼기 방지)
+// - 응시자 ID 로 seed 를 만들어서 같은 ID 면 항상 같은 순서 (프로그램을 다시 켜도, 답안 저널 복구 시에도 같음)
+// - 문제은행(QuestionConfig, choices 배열)은 복사하지 않고 순서표만 가진다.
+//     order[화면 위치] = 문제은행 번호                       (short, 최대 65535 문제)
+//     choiceOrder[layout.offset(문제은행 번호) + 화면 칸] = 원래 선택지 칸 (byte)
+//   화면의 j 번째 칸에는 choices[choiceOrder[...+j]] 를 보여주고 키 글자는 keys[j] 그대로 붙인다.
+//   (화면에서는 항상 ①②③④⑤ 순서, 내용만 섞임)
+// - 채점할 때는 화면 기준 답안지를 문제은행 기준으로 되돌린 뒤(unpermute) 원래 정답 키로 채점한다.
+public final class ExamVariant {
+    private static final int MARK = 0x80;   // 제자리 되돌리기 중 "이미 옮김" 표시 (키는 'O'(0x4F) 이하라 겹치지 않음)
+
+    private final Layout layout;
+    private final short[] order;        // 화면 위치 → 문제은행 번호
+    private final byte[] choiceOrder;   // 문제은행 번호별 화면 칸 → 원래 칸
+
+    // 문제은행마다 한 번만 계산하는 정보 (선택지 수, 선택지 순서표 안의 위치, 키)
+    // 여러 응시자의 순서표를 만들 때 같이 씀
+    public static final class Layout {
+        private final int size;
+        private final int[] offsets;    // 문제은행 번호별 choiceOrder 시작 위치 (size + 1 개)
+        private final char[][] keys;    // 문제은행 번호별 선택지 키 (QuestionConfig.keys 를 그대로 참조)
+        private final byte[] answers;   // 문제은행 기준 정답 키
+
+        Layout(QuestionBank bank) {
+            if (bank.size() > 0xFFFF) {
+                throw new IllegalArgumentException("섞을 수 있는 문제 수를 넘었습니다: " + bank.size());
+            }
+            size = bank.size();
+            offsets = new int[size + 1];
+            keys = new char[size][];
+            answers = new byte[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = bank.keys(i);
+                answers[i] = (byte) bank.answer(i);
+                offsets[i + 1] = offsets[i] + keys[i].length;
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // 응시자 ID 의 순서표
+        public ExamVariant variant(String candidateId) {
+            return variant(seedOf(candidateId));
+        }
+
+        // seed 로 순서표 만들기 (Fisher-Yates)
+        public ExamVariant variant(long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            short[] order = new short[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = (short) i;
+            }
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                short t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+            byte[] choiceOrder = new byte[offsets[size]];
+            for (int b = 0; b < size; b++) {
+                int off = offsets[b];
+                int n = offsets[b + 1] - off;
+                for (int i = 0; i < n; i++) {
+                    choiceOrder[off + i] = (byte) i;
+                }
+                for (int i = n - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    byte t = choiceOrder[off + i];
+                    choiceOrder[off + i] = choiceOrder[off + j];
+                    choiceOrder[off + j] = t;
+                }
+            }
+            return new ExamVariant(this, order, choiceOrder);
+        }
+    }
+
+    private ExamVariant(Layout layout, short[] order, byte[] choiceOrder) {
+        this.layout = layout;
+        this.order = order;
+        this.choiceOrder = choiceOrder;
+    }
+
+    public static Layout layout(QuestionBank bank) {
+        return new Layout(bank);
+    }
+
+    // 응시자 ID → seed (FNV-1a 64비트 후 SplitMix64 섞기, JVM 이 달라도 항상 같은 값)
+    static long seedOf(String candidateId) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : candidateId.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    // 화면 위치 → 문제은행 번호
+    public int bankIndex(int position) {
+        return order[position] & 0xFFFF;
+    }
+
+    // 문제은행 번호 b 의 선택지 순서표 (choiceOrder 배열 자체, choiceOffset(b) 부터 선택지 수만큼)
+    public byte[] choiceOrder() {
+        return choiceOrder;
+    }
+
+    public int choiceOffset(int bankIndex) {
+        return layout.offsets[bankIndex];
+    }
+
+    // 화면 위치 position 에서 화면 키 displayKey 를 고르면 원래 어떤 키인지 ('\u0000' 은 그대로)
+    public char originalKey(int position, char displayKey) {
+        return toOriginal(bankIndex(position), displayKey);
+    }
+
+    private char toOriginal(int b, char displayKey) {
+        if (displayKey == '\u0000') {
+            return displayKey;
+        }
+        char[] keys = layout.keys[b];
+        int j = displayKey - keys[0];   // 키가 'A','B','C'... 처럼 연속이면 바로 칸 번호
+        if (j < 0 || j >= keys.length || keys[j] != displayKey) {
+            for (j = 0; j < keys.length && keys[j] != displayKey; j++) {
+                // 연속이 아닌 키는 하나씩 찾음
+            }
+        }
+        if (j < keys.length) {
+            return keys[choiceOrder[layout.offsets[b] + j]];
+        }
+        throw new IllegalArgumentException("선택지 키가 아닙니다: " + displayKey);
+    }
+
+    // 화면 위치 position 의 정답을 화면 키로
+    public char displayAnswer(int position) {
+        int b = bankIndex(position);
+        int j = displaySlot(b, (char) layout.answers[b]);
+        return j < 0 ? '\u0000' : layout.keys[b][j];
+    }
+
+    // 화면 위치 position 에서 원래 키 originalKey 가 화면에서는 어떤 키로 보였는지 (결과 표용, '\u0000' 과 선택지 키가 아닌 글자는 그대로)
+    public char displayKey(int position, char originalKey) {
+        if (originalKey == '\u0000') {
+            return originalKey;
+        }
+        int b = bankIndex(position);
+        int j = displaySlot(b, originalKey);
+        return j < 0 ? originalKey : layout.keys[b][j];
+    }
+
+    // 문제은행 번호 b 에서 원래 키 originalKey 가 놓인 화면 칸 (없으면 -1)
+    private int displaySlot(int b, char originalKey) {
+        char[] keys = layout.keys[b];
+        int off = layout.offsets[b];
+        for (int j = 0; j < keys.length; j++) {
+            if (keys[choiceOrder[off + j]] == originalKey) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    // 화면 기준 답안지(문제당 1바이트)를 문제은행 기준으로 제자리에서 되돌림
+    // 1) 각 칸의 화면 키 → 원래 키
+    // 2) sheet[position] 을 sheet[order[position]] 으로 옮김 - 순환(cycle)을 따라가며 옮기고,
+    //    옮긴 칸은 최상위 비트(MARK)로 표시해서 추가 배열 없이 한 번씩만 처리
+    public void unpermute(byte[] sheet, int offset) {
+        int n = order.length;
+        for (int p = 0; p < n; p++) {
+            sheet[offset + p] = (byte) toOriginal(bankIndex(p), (char) (sheet[offset + p] & 0xFF));
+        }
+        for (int start = 0; start < n; start++) {
+            if ((sheet[offset + start] & MARK) != 0) {
+                continue;   // 이미 다른 순환에서 옮김
+            }
+            int carry = sheet[offset + start];
+            int next = bankIndex(start);
+            while (next != start) {
+                int displaced = sheet[offset + next];
+                sheet[offset + next] = (byte) (carry | MARK);
+                carry = displaced;
+                next = bankIndex(next);
+            }
+            sheet[offset + start] = (byte) (carry | MARK);
+        }
+        for (int p = 0; p < n; p++) {
+            sheet[offset + p] &= ~MARK;
+        }
+    }
+}
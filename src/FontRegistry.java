@@ -0,0 +1,83 @@
+import java.awt.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 앱 전체에서 같이 쓰는 폰트 저장소
+// - 한글 폰트 이름은 처음 한 번만 찾는다. ("맑은 고딕"이 없는 PC를 위해 대체 폰트 목록을 차례로 확인)
+// - 크기는 0.5pt 단위로 맞춰서, 같은 (스타일, 크기)면 항상 같은 Font 객체를 돌려준다.
+//   (리사이즈 때마다 deriveFont로 새 Font를 만들고 글꼴 대체(fallback)를 다시 찾는 비용 제거)
+// - FontMetrics도 Font별로 한 번만 만들어서 보관
+public final class FontRegistry {
+    // 원하는 순서대로 시도할 한글 폰트 이름들 (마지막 Dialog는 자바 논리 폰트라 항상 존재)
+    static final String[] FAMILY_CHAIN = {
+            "맑은 고딕", "Malgun Gothic",
+            "Apple SD Gothic Neo", "AppleGothic",
+            "나눔고딕", "NanumGothic",
+            "Noto Sans CJK KR", "Noto Sans KR",
+            "UnDotum",
+            Font.DIALOG
+    };
+
+    // 크기를 맞추는 단위 (1/2pt)
+    static final int SIZE_STEPS_PER_POINT = 2;
+
+    private static volatile String family;  // 찾아낸 폰트 이름 (처음 쓸 때 결정)
+    private static final ConcurrentHashMap<Integer, Font> FONTS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Font, FontMetrics> METRICS = new ConcurrentHashMap<>();
+    private static final Component METRICS_SOURCE = new Canvas(); // FontMetrics 얻기용 (화면에 붙이지 않음)
+
+    private FontRegistry() {
+    }
+
+    // 스타일(Font.PLAIN/BOLD...)과 크기에 맞는 공유 Font 반환
+    public static Font get(int style, float size) {
+        int steps = Math.max(1, Math.round(size * SIZE_STEPS_PER_POINT));
+        int key = (style << 16) | steps;
+        return FONTS.computeIfAbsent(key, k ->
+                new Font(family(), style, 1).deriveFont((float) steps / SIZE_STEPS_PER_POINT));
+    }
+
+    // 해당 Font의 FontMetrics (Font별로 한 번만 생성)
+    public static FontMetrics metrics(Font font) {
+        return METRICS.computeIfAbsent(font, METRICS_SOURCE::getFontMetrics);
+    }
+
+    // 사용할 한글 폰트 이름 (처음 호출 때 한 번만 찾음)
+    public static String family() {
+        String f = family;
+        if (f == null) {
+            synchronized (FontRegistry.class) {
+                f = family;
+                if (f == null) {
+                    f = resolveFamily();
+                    family = f;
+                }
+            }
+        }
+        return f;
+    }
+
+    // 설치된 폰트 중 한글을 표시할 수 있는 첫 번째 폰트 찾기
+    private static String resolveFamily() {
+        Set<String> installed = new HashSet<>();
+        try {
+            for (String name : GraphicsEnvironment.getLocalGraphicsEnvironment().getAvailableFontFamilyNames()) {
+                installed.add(name);
+            }
+        } catch (RuntimeException | Error e) {
+            return Font.DIALOG; // 폰트 목록을 못 얻는 환경이면 논리 폰트 사용
+        }
+        for (String name : FAMILY_CHAIN) {
+            if (installed.contains(name) && new Font(name, Font.PLAIN, 12).canDisplay('가')) {
+                return name;
+            }
+        }
+        return Font.DIALOG;
+    }
+
+    // 지금까지 만들어진 공유 Font 개수 (확인용)
+    public static int cachedFonts() {
+        return FONTS.size();
+    }
+}
@@ -0,0 +1,191 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// 화면(Swing)과 상관없이 답안지를 채점하는 엔진
+// - 정답 키와 답안지는 문제당 1바이트 (선택지 키 문자 'A'~'E', 안 푼 문제는 0)
+// - 여러 답안지는 한 byte[] 에 이어 붙여서 전달 (답안지 s 의 q 번 문제 = sheets[s * 문제수 + q])
+// - 8문제씩 long 하나로 읽어서 XOR 후 "0인 바이트 찾기" 비트 연산(SWAR)으로 한 번에 비교
+// - 답안지가 많으면 Fork/Join 으로 나눠서 여러 코어에서 채점
+// - 답안지 수 x 문제 수는 long 으로 계산해서 배열 하나에 안 들어가면 IllegalArgumentException (int 로 넘쳐서 엉뚱한 위치를 읽지 않게)
+public final class GradingEngine {
+    // 답안지를 이 개수 이하로 나누면 더 쪼개지 않고 바로 채점
+    static final int SPLIT_THRESHOLD = Integer.getInteger("quiz.grade.splitThreshold", 2048);
+    // 배열 하나의 최대 길이 (JVM 마다 조금 달라서 여유를 둠)
+    static final int MAX_ARRAY = Integer.MAX_VALUE - 8;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    // 각 바이트의 최상위 비트를 모아서 8비트로 만드는 곱셈 상수 (바이트 i → 비트 i)
+    private static final long GATHER = 0x0102040810204080L;
+
+    private GradingEngine() {
+    }
+
+    // 채점 결과
+    public static final class Result {
+        private final int questionCount;
+        private final int sheetCount;
+        private final int wordsPerSheet;   // 답안지 하나의 정답 여부 비트 수 / 64 (올림)
+        private final int[] scores;        // 답안지별 맞은 개수
+        private final long[] correctBits;  // 답안지별 정답 여부 비트 (답안지 s 는 [s * wordsPerSheet, ...) 구간)
+
+        Result(int questionCount, int sheetCount) {
+            this.questionCount = questionCount;
+            this.sheetCount = sheetCount;
+            this.wordsPerSheet = (questionCount + 63) >>> 6;
+            this.scores = new int[sheetCount];
+            this.correctBits = new long[arrayLength(sheetCount, wordsPerSheet)];
+        }
+
+        public int questionCount() {
+            return questionCount;
+        }
+
+        public int sheetCount() {
+            return sheetCount;
+        }
+
+        // 답안지 sheet 의 맞은 개수
+        public int score(int sheet) {
+            return scores[sheet];
+        }
+
+        // 답안지 sheet 의 question 번 문제를 맞혔는지
+        public boolean isCorrect(int sheet, int question) {
+            return (correctBits[sheet * wordsPerSheet + (question >>> 6)] & (1L << question)) != 0;
+        }
+
+        // 답안지 sheet 에서 question 이후 처음으로 틀린 문제 번호 (없으면 -1)
+        public int nextWrong(int sheet, int question) {
+            for (int q = question; q < questionCount; q++) {
+                int word = q >>> 6;
+                long wrong = ~correctBits[sheet * wordsPerSheet + word] & (-1L << q);
+                if (wrong != 0) {
+                    int found = (word << 6) + Long.numberOfTrailingZeros(wrong);
+                    return found < questionCount ? found : -1;
+                }
+                q = (word << 6) + 63; // 이 word 에는 틀린 문제가 없으므로 다음 word 로
+            }
+            return -1;
+        }
+
+        public int[] scores() {
+            return scores;
+        }
+
+        public long[] correctBits() {
+            return correctBits;
+        }
+    }
+
+    // 문제은행에서 정답 키 배열 만들기
+    public static byte[] answerKey(QuestionBank bank) {
+        byte[] key = new byte[bank.size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = (byte) bank.answer(i);
+        }
+        return key;
+    }
+
+    // count 개 x 하나에 per 칸짜리 배열의 길이 (long 으로 계산, 배열 하나에 안 들어가면 IllegalArgumentException)
+    public static int arrayLength(int count, int per) {
+        long n = (long) count * per;
+        if (count < 0 || per < 0 || n > MAX_ARRAY) {
+            throw new IllegalArgumentException("답안지가 너무 많습니다: " + count + " x " + per + " = " + n + " (배열 한도 " + MAX_ARRAY + ")");
+        }
+        return (int) n;
+    }
+
+    // 답안지 sheetCount 장이 들어가도록 sheets 를 늘림 (모자라면 두 배씩, 한도를 넘으면 IllegalArgumentException)
+    public static byte[] ensureSheets(byte[] sheets, int sheetCount, int questionCount) {
+        int need = arrayLength(sheetCount, questionCount);
+        if (need <= sheets.length) {
+            return sheets;
+        }
+        return Arrays.copyOf(sheets, (int) Math.min(MAX_ARRAY, Math.max(need, 2L * sheets.length)));
+    }
+
+    // 답안지 하나 채점
+    public static Result grade(byte[] key, byte[] sheet) {
+        return grade(key, sheet, 1);
+    }
+
+    // sheetCount 장의 답안지 채점 (sheets 는 sheetCount * key.length 바이트)
+    public static Result grade(byte[] key, byte[] sheets, int sheetCount) {
+        int needed = arrayLength(sheetCount, key.length);
+        if (sheets.length < needed) {
+            throw new IllegalArgumentException("답안지 데이터가 부족합니다: " + sheets.length + " < " + needed);
+        }
+        Result result = new Result(key.length, sheetCount);
+        if (sheetCount <= SPLIT_THRESHOLD) {
+            gradeRange(key, sheets, result, 0, sheetCount);
+        } else {
+            ForkJoinPool.commonPool().invoke(new GradeTask(key, sheets, result, 0, sheetCount));
+        }
+        return result;
+    }
+
+    // [from, to) 범위의 답안지 채점 (범위를 먼저 확인하므로 아래 int 위치 계산은 넘치지 않음)
+    static void gradeRange(byte[] key, byte[] sheets, Result result, int from, int to) {
+        int q = key.length;
+        if (from < 0 || to > result.sheetCount || sheets.length < arrayLength(to, q)) {
+            throw new IllegalArgumentException("채점 범위가 답안지 데이터를 벗어납니다: [" + from + ", " + to + ") x " + q);
+        }
+        int words = result.wordsPerSheet;
+        int vectorEnd = q & ~7; // 8바이트씩 비교할 수 있는 끝
+        for (int s = from; s < to; s++) {
+            int base = s * q;
+            int bitBase = s * words;
+            int score = 0;
+            int j = 0;
+            for (; j < vectorEnd; j += 8) {
+                long x = (long) LONGS.get(sheets, base + j) ^ (long) LONGS.get(key, j);
+                // x 의 각 바이트가 0(= 정답과 같음)이면 그 바이트의 최상위 비트가 1
+                long zero = ~(((x & LOW7) + LOW7) | x | LOW7);
+                long bits8 = ((zero >>> 7) * GATHER) >>> 56;
+                result.correctBits[bitBase + (j >>> 6)] |= bits8 << (j & 63);
+                score += Long.bitCount(bits8);
+            }
+            for (; j < q; j++) { // 남은 문제는 하나씩
+                if (sheets[base + j] == key[j]) {
+                    result.correctBits[bitBase + (j >>> 6)] |= 1L << j;
+                    score++;
+                }
+            }
+            result.scores[s] = score;
+        }
+    }
+
+    // 답안지 범위를 반씩 나눠서 병렬로 채점하는 작업
+    @SuppressWarnings("serial")
+    private static final class GradeTask extends RecursiveAction {
+        private final byte[] key;
+        private final byte[] sheets;
+        private final Result result;
+        private final int from;
+        private final int to;
+
+        GradeTask(byte[] key, byte[] sheets, Result result, int from, int to) {
+            this.key = key;
+            this.sheets = sheets;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                gradeRange(key, sheets, result, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GradeTask(key, sheets, result, from, mid),
+                      new GradeTask(key, sheets, result, mid, to));
+        }
+    }
+}
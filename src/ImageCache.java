@@ -0,0 +1,137 @@
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 문제 이미지를 백그라운드 스레드에서 디코딩하고, 디코딩된 결과를 공유 캐시에 보관하는 클래스
+// - 같은 그림을 쓰는 문제나 앱을 다시 띄운 경우(같은 JVM) 다시 디코딩하지 않는다.
+// - 캐시는 픽셀 바이트 수 기준으로 크기를 제한하고, 가장 오래 안 쓴 이미지부터 버린다 (LRU).
+public class ImageCache {
+    // 캐시 최대 크기 (기본 64MB, -Dquiz.images.cacheBytes 로 조절)
+    static final long MAX_BYTES = Long.getLong("quiz.images.cacheBytes", 64L * 1024 * 1024);
+    // 디코딩 스레드 수
+    static final int DECODE_THREADS = Integer.getInteger("quiz.images.threads", 2);
+
+    private static final ImageCache SHARED = new ImageCache(MAX_BYTES, DECODE_THREADS);
+
+    private final long maxBytes;
+    private long currentBytes;                                  // 캐시에 들어있는 이미지들의 대략적인 바이트 수
+    private final LinkedHashMap<String, BufferedImage> cache =  // accessOrder=true → 꺼낼 때마다 맨 뒤로 이동 (LRU)
+            new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<BufferedImage>> pending = new HashMap<>(); // 디코딩 중인 작업
+    private final ExecutorService executor;
+
+    public ImageCache(long maxBytes, int threads) {
+        this.maxBytes = maxBytes;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "image-decoder");
+            t.setDaemon(true); // 디코딩 스레드 때문에 프로그램 종료가 막히지 않도록
+            return t;
+        });
+    }
+
+    // 앱 전체에서 같이 쓰는 캐시
+    public static ImageCache shared() {
+        return SHARED;
+    }
+
+    // 클래스패스 기준 이미지 경로 (예: "img/5qst.png") 의 URL. 없으면 null
+    public static URL resolve(String path) {
+        return ImageCache.class.getResource(path);
+    }
+
+    // 이미지를 비동기로 불러옴. 캐시에 있으면 바로 완료된 Future 반환,
+    // 이미 디코딩 중이면 같은 Future를 공유해서 두 번 디코딩하지 않음
+    public CompletableFuture<BufferedImage> load(String path) {
+        synchronized (this) {
+            BufferedImage cached = cache.get(path);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            CompletableFuture<BufferedImage> inFlight = pending.get(path);
+            if (inFlight != null) {
+                return inFlight;
+            }
+            CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+            pending.put(path, future);
+            executor.execute(() -> decode(path, future));
+            return future;
+        }
+    }
+
+    // 캐시에 이미 디코딩된 이미지가 있으면 반환 (없으면 null, 디코딩을 시작하지 않음)
+    public synchronized BufferedImage getIfPresent(String path) {
+        return cache.get(path);
+    }
+
+    // 백그라운드 스레드에서 실제 디코딩 수행
+    private void decode(String path, CompletableFuture<BufferedImage> future) {
+        QuizEvents.ImageDecode event = QuizEvents.beginImageDecode();
+        try {
+            URL url = resolve(path);
+            if (url == null) {
+                throw new IOException("이미지를 찾을 수 없습니다: " + path);
+            }
+            BufferedImage img;
+            try (InputStream in = url.openStream()) {
+                img = ImageIO.read(in);
+            }
+            if (img == null) {
+                throw new IOException("이미지를 해석할 수 없습니다: " + path);
+            }
+            QuizEvents.imageDecoded(event, path, img.getWidth(), img.getHeight());
+            synchronized (this) {
+                pending.remove(path);
+                put(path, img);
+            }
+            future.complete(img);
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                pending.remove(path);
+            }
+            future.completeExceptionally(e);
+        }
+    }
+
+    // 캐시에 넣고, 최대 크기를 넘으면 가장 오래 안 쓴 것부터 제거 (호출 시 lock 보유 상태)
+    private void put(String path, BufferedImage img) {
+        BufferedImage old = cache.put(path, img);
+        if (old != null) {
+            currentBytes -= sizeOf(old);
+        }
+        currentBytes += sizeOf(img);
+
+        Iterator<Map.Entry<String, BufferedImage>> it = cache.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, BufferedImage> eldest = it.next();
+            if (eldest.getValue() == img) {
+                continue; // 방금 넣은 이미지는 (캐시보다 크더라도) 남겨 둠
+            }
+            currentBytes -= sizeOf(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    // 이미지가 차지하는 메모리 대략 계산 (픽셀당 4바이트로 가정)
+    static long sizeOf(BufferedImage img) {
+        return (long) img.getWidth() * img.getHeight() * 4;
+    }
+
+    // 현재 캐시 크기 (바이트)
+    public synchronized long currentBytes() {
+        return currentBytes;
+    }
+
+    // 현재 캐시에 들어있는 이미지 수
+    public synchronized int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,193 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// 이미지 축소/확대 결과를 크기 구간(bucket)별로 기억해 두는 스케일링 서비스
+// - 요청 가로 크기를 BUCKET_PX 단위로 내림해서, 창을 조금씩 끌 때마다 새로 스케일링하지 않게 한다.
+// - 이미 만든 구간이면 바로 돌려주고(hit), 없으면(miss) 가장 가까운 구간 이미지를
+//   빠른 방식(nearest neighbor)으로 늘리거나 줄여서 임시로 보여준 뒤,
+//   고품질 스케일링은 백그라운드 스레드에서 해서 끝나면 EDT로 다시 알려준다.
+public class ImageScaler {
+    // 크기 구간 간격 (px, -Dquiz.images.bucketPx 로 조절)
+    static final int BUCKET_PX = Math.max(1, Integer.getInteger("quiz.images.bucketPx", 32));
+
+    private static final ImageScaler SHARED = new ImageScaler(BUCKET_PX);
+
+    private final int bucketPx;
+    // 원본 이미지별 → (구간 가로 크기 → 스케일된 이미지). 원본이 캐시에서 빠지면 같이 사라지도록 WeakHashMap
+    private final Map<BufferedImage, TreeMap<Integer, BufferedImage>> buckets = new WeakHashMap<>();
+    // 고품질 스케일링이 진행 중인 구간 → 끝나면 알려줄 콜백들 (같은 구간을 두 번 스케일링하지 않도록)
+    private final Map<BufferedImage, Map<Integer, List<Consumer<Image>>>> pending = new WeakHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "image-scaler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 구간 크기가 적절한지 보기 위한 카운터
+    // (앱 전체 Metrics 에 같이 모음)
+    private final LongAdder hits = Metrics.counter("image.scale.hits");         // 이미 만든 구간을 그대로 쓴 횟수
+    private final LongAdder misses = Metrics.counter("image.scale.misses");     // 새로 고품질 스케일링을 해야 했던 횟수
+    private final LongAdder previews = Metrics.counter("image.scale.previews"); // 임시(빠른) 이미지로 대신 보여준 횟수
+    private final Metrics.Histogram highQuality = Metrics.histogram("image.scale.highQuality"); // 고품질 스케일링 시간
+
+    public ImageScaler(int bucketPx) {
+        this.bucketPx = bucketPx;
+    }
+
+    // 앱 전체에서 같이 쓰는 스케일러
+    public static ImageScaler shared() {
+        return SHARED;
+    }
+
+    // 원하는 크기(targetW x targetH)에 맞는 이미지를 반환 (EDT에서 호출)
+    // - 캐시에 있으면 그 이미지를 바로 반환하고 onReady는 호출하지 않는다.
+    // - 없으면 임시 이미지를 반환하고, 고품질 이미지가 준비되면 EDT에서 onReady를 호출한다.
+    public Image scale(BufferedImage src, int targetW, int targetH, Consumer<Image> onReady) {
+        int w = bucketWidth(targetW);
+        int h = Math.max(1, Math.round((float) w * targetH / Math.max(1, targetW)));
+
+        // 원본 크기 그대로면 스케일링할 필요 없음
+        // (캐시에 넣지 않음 - WeakHashMap 값이 키(원본)를 가리키면 원본이 영영 수거되지 않음)
+        if (w == src.getWidth() && h == src.getHeight()) {
+            hits.increment();
+            return src;
+        }
+
+        Map.Entry<Integer, BufferedImage> nearest;
+        boolean alreadyScheduled;
+        synchronized (this) {
+            TreeMap<Integer, BufferedImage> levels = buckets.computeIfAbsent(src, k -> new TreeMap<>());
+            BufferedImage exact = levels.get(w);
+            if (exact != null) {
+                hits.increment();
+                return exact;
+            }
+            nearest = nearestLevel(levels, w);
+
+            Map<Integer, List<Consumer<Image>>> waiting = pending.computeIfAbsent(src, k -> new HashMap<>());
+            alreadyScheduled = waiting.containsKey(w);
+            waiting.computeIfAbsent(w, k -> new ArrayList<>()).add(onReady);
+        }
+
+        // 고품질 스케일링은 백그라운드에서 (이미 진행 중이면 콜백만 추가하고 기다림)
+        misses.increment();
+        if (!alreadyScheduled) {
+            executor.execute(() -> {
+                BufferedImage hq = null;
+                try {
+                    long start = System.nanoTime();
+                    hq = scaleHighQuality(src, w, h);
+                    highQuality.record(System.nanoTime() - start);
+                } finally {
+                    // 실패해도 대기 목록은 비움 (다음 요청 때 다시 시도, 그동안은 임시 이미지 그대로)
+                    BufferedImage done = hq;
+                    List<Consumer<Image>> callbacks = complete(src, w, done);
+                    if (done != null) {
+                        SwingUtilities.invokeLater(() -> {
+                            for (Consumer<Image> cb : callbacks) {
+                                cb.accept(done);
+                            }
+                        });
+                    }
+                }
+            });
+        }
+
+        // 그동안은 가장 가까운 구간 이미지(없으면 원본)를 빠르게 늘려서 보여줌
+        previews.increment();
+        BufferedImage base = nearest != null ? nearest.getValue() : src;
+        return scaleFast(base, w, h);
+    }
+
+    // 요청 크기를 구간 크기로 내림 (최소 1구간)
+    int bucketWidth(int targetW) {
+        return Math.max(bucketPx, (targetW / bucketPx) * bucketPx);
+    }
+
+    // 고품질 결과를 캐시에 넣고 (실패해서 null 이면 넣지 않음), 기다리던 콜백 목록을 꺼내서 반환
+    private synchronized List<Consumer<Image>> complete(BufferedImage src, int w, BufferedImage scaled) {
+        if (scaled != null) {
+            buckets.computeIfAbsent(src, k -> new TreeMap<>()).put(w, scaled);
+        }
+        Map<Integer, List<Consumer<Image>>> waiting = pending.get(src);
+        List<Consumer<Image>> callbacks = waiting != null ? waiting.remove(w) : null;
+        if (waiting != null && waiting.isEmpty()) {
+            pending.remove(src);
+        }
+        return callbacks != null ? callbacks : List.of();
+    }
+
+    // 이미 만들어 둔 구간 중 w에 가장 가까운 것
+    private static Map.Entry<Integer, BufferedImage> nearestLevel(TreeMap<Integer, BufferedImage> levels, int w) {
+        Map.Entry<Integer, BufferedImage> lo = levels.floorEntry(w);
+        Map.Entry<Integer, BufferedImage> hi = levels.ceilingEntry(w);
+        if (lo == null) return hi;
+        if (hi == null) return lo;
+        return (w - lo.getKey() <= hi.getKey() - w) ? lo : hi;
+    }
+
+    // 빠른 스케일링 (nearest neighbor, EDT에서 해도 부담 없는 수준)
+    static BufferedImage scaleFast(BufferedImage src, int w, int h) {
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = out.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return out;
+    }
+
+    // 고품질 스케일링 - 줄일 때는 절반씩 여러 번 bilinear로 줄여서 계단 현상 방지,
+    // 늘릴 때는 bicubic 한 번
+    static BufferedImage scaleHighQuality(BufferedImage src, int w, int h) {
+        BufferedImage cur = src;
+        int curW = src.getWidth();
+        int curH = src.getHeight();
+        do {
+            int nextW = curW > w ? Math.max(w, curW / 2) : w;
+            int nextH = curH > h ? Math.max(h, curH / 2) : h;
+            BufferedImage next = new BufferedImage(nextW, nextH, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    (nextW > curW) ? RenderingHints.VALUE_INTERPOLATION_BICUBIC : RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(cur, 0, 0, nextW, nextH, null);
+            g.dispose();
+            cur = next;
+            curW = nextW;
+            curH = nextH;
+        } while (curW != w || curH != h);
+        return cur;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long previews() {
+        return previews.sum();
+    }
+
+    // 카운터 요약 문자열 (구간 크기가 적절한지 판단용)
+    public String stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        double rate = (h + m) == 0 ? 0 : (100.0 * h / (h + m));
+        return String.format("ImageScaler bucket=%dpx hits=%d misses=%d previews=%d hitRate=%.1f%%",
+                bucketPx, h, m, previews.sum(), rate);
+    }
+}
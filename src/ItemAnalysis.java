@@ -0,0 +1,269 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+// 시험이 끝난 뒤 많은 답안지를 모아서 문제별 통계를 내는 문항 분석기
+// - 난이도(p값): 그 문제를 맞힌 비율
+// - 변별도(점-이연 상관, point-biserial): 그 문제를 맞힌 사람과 틀린 사람의 총점 차이
+// - 선택지별 선택 비율 (오답 선택지가 얼마나 매력적인지)
+//
+// 답안지를 전부 메모리에 올리지 않고 한 번만 읽으면서 합계만 쌓는다.
+// 합계(Accumulator)는 서로 더할 수 있어서, 입력을 CHUNK 장씩 잘라 여러 스레드가 따로 쌓은 뒤 합친다.
+//
+// 사용법: java ItemAnalysis 답안지파일     (-Dquiz.bank 로 문제은행 지정 가능)
+// 답안지 파일은 한 줄에 한 명, 문제 수만큼의 키 문자 (안 푼 문제는 '.')
+//   예) ABDC.EA...   (서버 모드 GET /sessions/{id} 의 answers 와 같은 형식)
+public class ItemAnalysis {
+    // 한 번에 처리하는 답안지 수 (-Dquiz.analysis.chunk)
+    static final int CHUNK = Integer.getInteger("quiz.analysis.chunk", 2048);
+    static final int CODES = 1 << AnswerSheet.BITS;   // 키 코드 수 (0 = 안 품, 1~15 = 'A'~'O')
+
+    // 문제별 · 키별 합계 (모두 기본형 배열, 같은 정답 키끼리는 merge 로 합칠 수 있음)
+    public static final class Accumulator {
+        private final byte[] key;           // 정답 키
+        private final int q;                // 문제 수
+        private long n;                     // 답안지 수
+        private long scoreSum;              // 총점 합 (S)
+        private long scoreSqSum;            // 총점 제곱 합 (SS)
+        private final long[] choiceCounts;  // [문제 * CODES + 키 코드] 선택 수
+        private final long[] correctCount;  // 문제별 맞힌 사람 수 (n1)
+        private final long[] correctScore;  // 문제별 맞힌 사람의 총점 합 (S1)
+
+        public Accumulator(byte[] key) {
+            this.key = key;
+            this.q = key.length;
+            this.choiceCounts = new long[q * CODES];
+            this.correctCount = new long[q];
+            this.correctScore = new long[q];
+        }
+
+        // 답안지 count 장 추가 (GradingEngine 과 같은 형식: 문제당 1바이트, 이어 붙임)
+        public void add(byte[] sheets, int count) {
+            GradingEngine.Result graded = GradingEngine.grade(key, sheets, count);
+            long[] bits = graded.correctBits();
+            int words = (q + 63) >>> 6;
+            for (int s = 0; s < count; s++) {
+                int score = graded.score(s);
+                n++;
+                scoreSum += score;
+                scoreSqSum += (long) score * score;
+
+                int base = s * q;
+                for (int i = 0; i < q; i++) {
+                    int b = sheets[base + i];
+                    choiceCounts[i * CODES + (b == 0 ? 0 : b - AnswerSheet.MIN_KEY + 1)]++;
+                }
+                // 맞힌 문제만 비트를 따라가며 더함
+                for (int w = 0; w < words; w++) {
+                    long word = bits[s * words + w];
+                    while (word != 0) {
+                        int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                        correctCount[i]++;
+                        correctScore[i] += score;
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+
+        // 다른 합계를 이 합계에 더함
+        public void merge(Accumulator other) {
+            n += other.n;
+            scoreSum += other.scoreSum;
+            scoreSqSum += other.scoreSqSum;
+            for (int i = 0; i < choiceCounts.length; i++) {
+                choiceCounts[i] += other.choiceCounts[i];
+            }
+            for (int i = 0; i < q; i++) {
+                correctCount[i] += other.correctCount[i];
+                correctScore[i] += other.correctScore[i];
+            }
+        }
+
+        public long count() {
+            return n;
+        }
+
+        // 쌓인 합계로 문제별 통계 계산
+        public Report report(QuestionBank bank, long rejected, long nanos) {
+            double mean = n == 0 ? 0 : (double) scoreSum / n;
+            double sd = n == 0 ? 0 : Math.sqrt(Math.max(0, (double) scoreSqSum / n - mean * mean));
+            List<Item> items = new ArrayList<>(q);
+            for (int i = 0; i < q; i++) {
+                long n1 = correctCount[i];
+                double p = n == 0 ? Double.NaN : (double) n1 / n;
+                double rpb = Double.NaN;
+                if (sd > 0 && n1 > 0 && n1 < n) {
+                    double m1 = (double) correctScore[i] / n1;
+                    double m0 = (double) (scoreSum - correctScore[i]) / (n - n1);
+                    rpb = (m1 - m0) / sd * Math.sqrt(p * (1 - p));
+                }
+                char[] keys = bank.keys(i);
+                double[] rates = new double[keys.length];
+                for (int c = 0; c < keys.length; c++) {
+                    rates[c] = n == 0 ? 0 : (double) choiceCounts[i * CODES + AnswerSheet.encode(keys[c])] / n;
+                }
+                double omit = n == 0 ? 0 : (double) choiceCounts[i * CODES] / n;
+                items.add(new Item(i, (char) key[i], p, rpb, keys, rates, omit));
+            }
+            return new Report(n, rejected, mean, sd, items, nanos);
+        }
+    }
+
+    // 문제 하나의 통계
+    public record Item(int index, char answer, double difficulty, double pointBiserial,
+                       char[] keys, double[] choiceRates, double omitRate) {
+    }
+
+    // 분석 결과 (items 는 문제 번호 순서)
+    public record Report(long sheets, long rejected, double meanScore, double sdScore,
+                         List<Item> items, long nanos) {
+        public Item get(int index) {
+            return items.get(index);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "답안지 %d장 (형식 오류 %d줄), 평균 %.2f점, 표준편차 %.2f, %.1f ms%n",
+                    sheets, rejected, meanScore, sdScore, nanos / 1_000_000.0));
+            sb.append("문제  정답  난이도  변별도  선택 비율\n");
+            for (Item item : items) {
+                sb.append(String.format(Locale.ROOT, "Q%-4d %-4c %6.3f  %6s ",
+                        item.index + 1, item.answer, item.difficulty,
+                        Double.isNaN(item.pointBiserial) ? "-" : String.format(Locale.ROOT, "%.3f", item.pointBiserial)));
+                for (int c = 0; c < item.keys.length; c++) {
+                    sb.append(String.format(Locale.ROOT, " %c%s%.3f", item.keys[c],
+                            item.keys[c] == item.answer ? "*" : ":", item.choiceRates[c]));
+                }
+                if (item.omitRate > 0) {
+                    sb.append(String.format(Locale.ROOT, " 무응답:%.3f", item.omitRate));
+                }
+                sb.append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    // 답안지 스트림을 CHUNK 장씩 읽어서 병렬로 분석
+    // 동시에 처리 중인 묶음 수를 제한해서 (버퍼를 돌려 씀) 입력이 아무리 커도 메모리는 일정
+    public static Report analyze(QuestionBank bank, InputStream input) throws IOException {
+        long start = System.nanoTime();
+        byte[] key = GradingEngine.answerKey(bank);
+        int q = key.length;
+        int inFlight = ForkJoinPool.commonPool().getParallelism() * 2;
+        BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(inFlight);
+        for (int i = 0; i < inFlight; i++) {
+            buffers.add(new byte[GradingEngine.arrayLength(CHUNK, q)]);
+        }
+        // 끝난 묶음은 바로 total 에 합침 (결과를 끝까지 쌓아 두지 않음 → 대기 중인 묶음은 inFlight 개 이하)
+        Accumulator total = new Accumulator(key);
+        ArrayDeque<CompletableFuture<Accumulator>> parts = new ArrayDeque<>();
+        long rejected = 0;
+
+        // 바이트 단위로 직접 읽음 (줄마다 String 을 만들지 않음)
+        try (InputStream in = input) {
+            byte[] buf = new byte[1 << 16];
+            byte[] chunk = takeBuffer(buffers);
+            int count = 0;
+            int col = 0;          // 지금 줄에서 읽은 문자 수
+            boolean bad = false;  // 지금 줄이 형식에 맞지 않음
+            int len;
+            boolean eof = false;
+            while (!eof) {
+                len = in.read(buf);
+                if (len < 0) {
+                    eof = true;
+                    len = 1;
+                    buf[0] = '\n';   // 마지막 줄에 줄바꿈이 없어도 처리되도록
+                }
+                for (int i = 0; i < len; i++) {
+                    int b = buf[i];
+                    if (b == '\n') {
+                        if (col == q && !bad) {
+                            count++;
+                            if (count == CHUNK) {
+                                parts.add(submit(key, chunk, count, buffers));
+                                if (parts.size() > inFlight) {
+                                    total.merge(parts.poll().join());
+                                }
+                                chunk = takeBuffer(buffers);
+                                count = 0;
+                            }
+                        } else if (col > 0 || bad) {
+                            rejected++;
+                        }
+                        col = 0;
+                        bad = false;
+                        continue;
+                    }
+                    if (b == '\r' || bad) {
+                        continue;
+                    }
+                    if (col >= q) {
+                        bad = true;
+                        continue;
+                    }
+                    if (b == '.' || b == ' ' || b == '-') {
+                        b = 0;
+                    } else if (b < AnswerSheet.MIN_KEY || b > AnswerSheet.MAX_KEY) {
+                        bad = true;
+                        continue;
+                    }
+                    chunk[count * q + col++] = (byte) b;
+                }
+            }
+            if (count > 0) {
+                parts.add(submit(key, chunk, count, buffers));
+            }
+        }
+
+        for (CompletableFuture<Accumulator> part : parts) {
+            total.merge(part.join());
+        }
+        return total.report(bank, rejected, System.nanoTime() - start);
+    }
+
+    // 묶음 하나를 따로 쌓고, 다 쓴 버퍼는 돌려 놓음
+    private static CompletableFuture<Accumulator> submit(byte[] key, byte[] chunk, int count,
+                                                         BlockingQueue<byte[]> buffers) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Accumulator acc = new Accumulator(key);
+                acc.add(chunk, count);
+                return acc;
+            } finally {
+                buffers.add(chunk);
+            }
+        });
+    }
+
+    private static byte[] takeBuffer(BlockingQueue<byte[]> buffers) throws IOException {
+        try {
+            return buffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("분석이 중단되었습니다", e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("사용법: java ItemAnalysis <답안지파일>");
+            System.exit(1);
+        }
+        QuestionBank bank = QuestionBank.load();
+        try (InputStream in = Files.newInputStream(Path.of(args[0]))) {
+            System.out.print(analyze(bank, in));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 바이너리 문제은행 파일(.qbank)을 메모리 매핑해서 읽는 문제은행
+// - 열 때는 헤더만 확인하므로 문제 수와 상관없이 바로 열린다.
+// - QuestionConfig 객체와 문자열은 그 문제를 실제로 꺼낼 때(get) 처음 만들고, 이후엔 재사용한다.
+// - 파일 형식은 QuestionBankFormat 참고
+// - 파일을 바꿔치기할 수 있어야 하면 (-Dquiz.watch, BankWatcher) 매핑 대신 load 로 힙에 읽어서 씀
+//   (Windows 는 매핑된 파일을 지우거나 덮어쓰지 못해서 QuestionBankCompiler 의 ATOMIC_MOVE 가 실패함)
+public class MappedQuestionBank implements QuestionBank {
+    private final Path path;
+    private final ByteBuffer buf;             // 파일 전체를 매핑한 버퍼 (읽기 전용, load 로 열면 힙 버퍼)
+    private final int questionCount;
+    private final int stringCount;
+    private final int indexStart;
+    private final int stringIndexStart;
+    private final int stringDataStart;
+    // 이미 만들어진 문제 / 디코딩된 문자열 (아직이면 null).
+    // 여러 스레드(검증 단계 등)가 동시에 읽어도 되도록 락 없이 AtomicReferenceArray 사용
+    private final AtomicReferenceArray<QuestionConfig> materialized;
+    private final AtomicReferenceArray<String> strings; // 같은 ID면 같은 String 객체 공유
+
+    private MappedQuestionBank(Path path, ByteBuffer buf) throws IOException {
+        this.path = path;
+        this.buf = buf;
+        if (buf.capacity() < QuestionBankFormat.HEADER_SIZE || buf.getInt(0) != QuestionBankFormat.MAGIC) {
+            throw new IOException("문제은행 파일 형식이 아닙니다: " + path);
+        }
+        int version = buf.getInt(4);
+        if (version != QuestionBankFormat.VERSION) {
+            throw new IOException("지원하지 않는 문제은행 버전입니다: " + version);
+        }
+        this.questionCount = buf.getInt(8);
+        this.stringCount = buf.getInt(12);
+        this.indexStart = buf.getInt(16);
+        this.stringIndexStart = buf.getInt(20);
+        this.stringDataStart = buf.getInt(24);
+        if (questionCount < 0 || stringCount < 0 || stringDataStart > buf.capacity()) {
+            throw new IOException("문제은행 파일이 손상되었습니다: " + path);
+        }
+        this.materialized = new AtomicReferenceArray<>(questionCount);
+        this.strings = new AtomicReferenceArray<>(stringCount);
+    }
+
+    // 파일을 열어서 매핑
+    public static MappedQuestionBank open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지됨
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return new MappedQuestionBank(path, buf);
+        }
+    }
+
+    // 파일 전체를 힙에 읽어서 열기 (매핑하지 않으므로 읽은 뒤에는 파일을 잡고 있지 않음)
+    public static MappedQuestionBank load(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("문제은행 파일이 너무 큽니다: " + path);
+            }
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining() && ch.read(buf) >= 0) {
+                // 끝까지 읽음
+            }
+            if (buf.hasRemaining()) {
+                throw new IOException("문제은행 파일을 끝까지 읽지 못했습니다 (읽는 중에 바뀜): " + path);
+            }
+            return new MappedQuestionBank(path, buf.clear());
+        }
+    }
+
+    @Override
+    public int size() {
+        return questionCount;
+    }
+
+    // index 번째 문제 - 처음 요청될 때 파일에서 읽어서 QuestionConfig로 만듦
+    @Override
+    public QuestionConfig get(int index) {
+        QuestionConfig cfg = materialized.get(index);
+        if (cfg == null) {
+            cfg = read(index);
+            // 동시에 두 스레드가 만들었으면 먼저 들어간 것을 모두가 쓰도록
+            if (!materialized.compareAndSet(index, null, cfg)) {
+                cfg = materialized.get(index);
+            }
+        }
+        return cfg;
+    }
+
+    // 문제 레코드 하나 읽기
+    private QuestionConfig read(int index) {
+        int pos = buf.getInt(indexStart + index * 4);
+        String questionText = string(buf.getInt(pos));
+        String passage = string(buf.getInt(pos + 4));
+        int imageId = buf.getInt(pos + 8);
+        boolean hasImage = buf.get(pos + 12) != 0;
+        char answer = (char) (buf.get(pos + 13) & 0xFF);
+        int choiceCount = buf.get(pos + 14) & 0xFF;
+        pos += 15;
+
+        String[] choices = new String[choiceCount];
+        for (int c = 0; c < choiceCount; c++) {
+            choices[c] = string(buf.getInt(pos));
+            pos += 4;
+        }
+        int keyCount = buf.get(pos++) & 0xFF;
+        char[] keys = new char[keyCount];
+        for (int k = 0; k < keyCount; k++) {
+            keys[k] = (char) (buf.get(pos++) & 0xFF);
+        }
+        String imagePath = imageId == QuestionBankFormat.NO_STRING ? "" : string(imageId);
+        // 키 배열은 문제마다 거의 같으므로 공용 배열 하나를 같이 씀
+        return new QuestionConfig(questionText, passage, choices, PooledQuestionBank.sharedKeys(keys), hasImage, imagePath, answer);
+    }
+
+    // 문자열 ID → String (처음 한 번만 UTF-8 디코딩)
+    private String string(int id) {
+        String s = strings.get(id);
+        if (s == null) {
+            int start = buf.getInt(stringIndexStart + id * 4);
+            int end = buf.getInt(stringIndexStart + (id + 1) * 4);
+            byte[] bytes = new byte[end - start];
+            buf.get(stringDataStart + start, bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            if (!strings.compareAndSet(id, null, s)) {
+                s = strings.get(id);
+            }
+        }
+        return s;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,151 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// 앱 안에서 쓰는 가벼운 측정값 모음 (카운터 + 지연시간 히스토그램)
+// - 카운터는 LongAdder, 히스토그램은 로그-선형 구간(HDR 방식)별 개수라서 기록할 때 잠금이 없다.
+// - 이름으로 꺼내 쓰고, 같은 이름이면 같은 객체 (처음 쓸 때 만들어짐)
+// - -Dquiz.metrics.out=파일경로 를 주면 프로그램이 끝날 때 모든 측정값을 그 파일에 저장
+//   (실습실 PC끼리 비교하거나 변경 전후를 비교할 때 사용)
+public final class Metrics {
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    static {
+        String out = System.getProperty("quiz.metrics.out");
+        if (out != null && !out.isEmpty()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    dump(Path.of(out));
+                } catch (IOException e) {
+                    System.err.println("측정값을 저장하지 못했습니다: " + e.getMessage());
+                }
+            }, "metrics-dump"));
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    // 지연시간 히스토그램 (ns 단위로 기록)
+    // 2의 거듭제곱 구간마다 SUB_BUCKETS 개로 나눠서 세므로 어느 크기든 상대 오차가 1/SUB_BUCKETS 이하
+    public static final class Histogram {
+        static final int SUB_BITS = 4;
+        static final int SUB_BUCKETS = 1 << SUB_BITS;
+        static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        // 값 → 구간 번호 (작은 값은 그대로, 큰 값은 최상위 비트 위치 + 그 아래 SUB_BITS 비트)
+        static int bucketOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) Math.max(0, value);
+            }
+            int exp = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        // 구간 번호 → 그 구간의 가장 작은 값
+        static long lowerBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exp = bucket / SUB_BUCKETS + SUB_BITS - 1;
+            int sub = bucket % SUB_BUCKETS;
+            return (1L << exp) | ((long) sub << (exp - SUB_BITS));
+        }
+
+        public void record(long nanos) {
+            counts.incrementAndGet(bucketOf(nanos));
+            count.increment();
+            sum.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long totalNanos() {
+            return sum.sum();
+        }
+
+        public long maxNanos() {
+            return max.get();
+        }
+
+        // 백분위 값 (ns, 구간 가운데 값으로 근사). p 는 0~100
+        public long percentile(double p) {
+            long total = count();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * p / 100.0));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    long mid = i + 1 < BUCKETS ? (lowerBound(i) + lowerBound(i + 1) - 1) >>> 1 : lowerBound(i);
+                    return Math.min(mid, maxNanos());
+                }
+            }
+            return maxNanos();
+        }
+
+        @Override
+        public String toString() {
+            long n = count();
+            return String.format(Locale.ROOT, "count=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms",
+                    n, n == 0 ? 0 : totalNanos() / 1_000_000.0 / n,
+                    percentile(50) / 1_000_000.0, percentile(90) / 1_000_000.0,
+                    percentile(99) / 1_000_000.0, maxNanos() / 1_000_000.0);
+        }
+    }
+
+    // 모든 측정값을 이름순으로 출력
+    public static void dump(Writer out) {
+        PrintWriter pw = new PrintWriter(out);
+        pw.printf("# quiz metrics %s, java %s, %s %s, cpus %d%n",
+                java.time.Instant.now(), System.getProperty("java.version"),
+                System.getProperty("os.name"), System.getProperty("os.arch"),
+                Runtime.getRuntime().availableProcessors());
+        new TreeMap<>(COUNTERS).forEach((name, c) -> pw.printf("counter %s %d%n", name, c.sum()));
+        new TreeMap<>(HISTOGRAMS).forEach((name, h) -> pw.printf("histogram %s %s%n", name, h));
+        pw.flush();
+    }
+
+    public static void dump(Path path) throws IOException {
+        try (Writer w = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            dump(w);
+        }
+    }
+
+    public static String dumpToString() {
+        StringWriter sw = new StringWriter();
+        dump(sw);
+        return sw.toString();
+    }
+}
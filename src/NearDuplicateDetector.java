@@ -0,0 +1,391 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+// 문제은행에서 거의 같은 문제 / 선택지 찾기 (시험지를 만들기 전에 문제은행 관리자가 돌림)
+// - 글은 TextNormalizer 로 정규화한 뒤 공백을 빼고 SHINGLE 글자씩 겹쳐 자른 조각(shingle)의 집합으로 봄
+//   (띄어쓰기만 다른 "국교로 삼았다" / "국교로삼았다" 도 같은 조각)
+// - 조각 집합마다 MinHash 서명(HASHES 개의 최솟값)을 만들고, 서명을 BANDS 묶음으로 나눠
+//   한 묶음이라도 같은 것끼리만 후보로 (LSH) → 모든 쌍을 비교하지 않아서 문제 수에 거의 비례하는 시간
+// - 후보 쌍은 실제 조각 집합의 자카드 유사도를 계산해서 THRESHOLD 이상만 보고
+// - 글자까지 똑같은 것(정규화 후)은 LSH 전에 하나로 묶어서 "같은 글" 로 따로 보고
+// - 한 묶음 칸에 MAX_BUCKET 개보다 많이 모이면 (같은 본문을 수십 번 쓴 경우) 그 칸은 첫 항목과의 쌍만 만듦
+// 사용법: java NearDuplicateDetector     (-Dquiz.bank 로 문제은행 지정)
+// 설정: -Dquiz.dedup.threshold=0.8 -Dquiz.dedup.hashes=128 -Dquiz.dedup.bands=(기준에 맞춰 자동) -Dquiz.dedup.shingle=3
+//       -Dquiz.dedup.maxBucket=64 -Dquiz.dedup.limit=100 (보고할 최대 줄 수)
+public class NearDuplicateDetector {
+    static final double THRESHOLD = Double.parseDouble(System.getProperty("quiz.dedup.threshold", "0.8"));
+    static final int HASHES = Integer.getInteger("quiz.dedup.hashes", 128);
+    static final int BANDS = Integer.getInteger("quiz.dedup.bands", 0);     // 0 이면 기준에 맞춰 자동
+    static final int SHINGLE = Integer.getInteger("quiz.dedup.shingle", 3);
+    static final int MAX_BUCKET = Integer.getInteger("quiz.dedup.maxBucket", 64);
+    static final int LIMIT = Integer.getInteger("quiz.dedup.limit", 100);
+    static final double ESTIMATE_SLACK = 0.15;    // 추정 유사도가 기준 ± 이 값 밖이면 정확한 계산 생략
+
+    // 거의 같은 글 한 쌍 (a < b, 고유 글 번호, exact 가 false 면 MinHash 추정 유사도)
+    public record Pair(int a, int b, double similarity, boolean exact) {
+    }
+
+    // 검사 결과 - 고유 글 목록, 글마다 그 글을 쓴 곳(owner), 같은 글 묶음, 거의 같은 쌍
+    public record Report(String[] texts, int[][] owners, List<Pair> pairs, long candidates, long nanos) {
+        // 두 곳 이상에서 똑같이 쓴 글 수
+        public int exactGroups() {
+            int n = 0;
+            for (int[] o : owners) {
+                if (o.length > 1) {
+                    n++;
+                }
+            }
+            return n;
+        }
+    }
+
+    private final int hashes;
+    private final int bands;
+    private final int rows;
+    private final int shingle;
+    private final long seed;        // 조각 해시를 섞을 seed
+
+    public NearDuplicateDetector() {
+        this(HASHES, BANDS > 0 ? BANDS : autoBands(HASHES, THRESHOLD), SHINGLE, 42);
+    }
+
+    // 묶음 수 b (한 묶음 r = hashes / b 칸) 는 후보가 되기 시작하는 유사도 (1/b)^(1/r) 가
+    // 기준보다 조금(0.1) 낮도록 고름 - 낮을수록 놓치는 쌍은 줄지만 확인할 후보가 늘어남
+    static int autoBands(int hashes, double threshold) {
+        int best = hashes;
+        double bestGap = Double.MAX_VALUE;
+        for (int b = 1; b <= hashes; b++) {
+            if (hashes % b != 0) {
+                continue;
+            }
+            double gap = Math.abs(Math.pow(1.0 / b, (double) b / hashes) - (threshold - 0.1));
+            if (gap < bestGap) {
+                bestGap = gap;
+                best = b;
+            }
+        }
+        return best;
+    }
+
+    public NearDuplicateDetector(int hashes, int bands, int shingle, long seed) {
+        if (hashes % bands != 0) {
+            throw new IllegalArgumentException("hashes 는 bands 의 배수여야 합니다: " + hashes + " / " + bands);
+        }
+        this.hashes = hashes;
+        this.bands = bands;
+        this.rows = hashes / bands;
+        this.shingle = Math.max(1, shingle);
+        this.seed = new SplittableRandom(seed).nextLong();
+    }
+
+    // 글 목록(owner 순서)에서 거의 같은 글 찾기 - owner 는 목록 번호
+    public Report detect(List<String> rawTexts, double threshold) {
+        long start = System.nanoTime();
+
+        // 1) 정규화 + 똑같은 글 묶기
+        Map<String, Integer> unique = new HashMap<>();
+        List<String> texts = new ArrayList<>();
+        List<int[]> owners = new ArrayList<>();
+        int[] ownerCount = new int[rawTexts.size()];
+        int[] textOf = new int[rawTexts.size()];
+        for (int i = 0; i < rawTexts.size(); i++) {
+            String display = TextNormalizer.normalize(rawTexts.get(i));
+            String norm = display.replace(" ", "");
+            if (norm.isEmpty()) {
+                textOf[i] = -1;
+                continue;
+            }
+            Integer id = unique.get(norm);
+            if (id == null) {
+                id = texts.size();
+                unique.put(norm, id);
+                texts.add(display);     // 보고용으로는 띄어쓰기가 남은 글 (비교는 공백을 뺀 글로)
+            }
+            textOf[i] = id;
+            ownerCount[id]++;
+        }
+        int n = texts.size();
+        for (int t = 0; t < n; t++) {
+            owners.add(new int[ownerCount[t]]);
+        }
+        int[] filled = new int[n];
+        for (int i = 0; i < textOf.length; i++) {
+            if (textOf[i] >= 0) {
+                owners.get(textOf[i])[filled[textOf[i]]++] = i;
+            }
+        }
+
+        // 2) 조각 집합 + MinHash 서명 (글마다 따로라 병렬)
+        int[][] shingles = new int[n][];
+        int[] signatures = new int[n * hashes];
+        IntStream.range(0, n).parallel().forEach(t -> {
+            shingles[t] = shingles(texts.get(t).replace(" ", ""));
+            sign(shingles[t], signatures, t * hashes);
+        });
+
+        // 3) LSH - 묶음마다 (묶음 해시, 글 번호) 를 정렬해서 같은 해시끼리 후보 쌍 (묶음끼리 병렬)
+        long[][] bandPairs = new long[bands][];
+        IntStream.range(0, bands).parallel().forEach(band -> bandPairs[band] = candidates(signatures, n, band));
+        int total = 0;
+        for (long[] p : bandPairs) {
+            total += p.length;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (long[] p : bandPairs) {
+            System.arraycopy(p, 0, all, pos, p.length);
+            pos += p.length;
+        }
+        Arrays.parallelSort(all);
+        int m = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[m++] = all[i];
+            }
+        }
+        long[] candidates = Arrays.copyOf(all, m);
+
+        // 4) 후보 쌍의 유사도 (병렬)
+        //    서명이 같은 비율(추정 유사도)이 기준에서 ESTIMATE_SLACK 이상 떨어져 있으면 추정값으로 판정하고,
+        //    기준 근처일 때만 조각 집합을 비교해서 실제 자카드 유사도를 구함 (음수 = 추정값)
+        double[] similarity = new double[m];
+        IntStream.range(0, m).parallel().forEach(i -> {
+            int a = (int) (candidates[i] >>> 32);
+            int b = (int) candidates[i];
+            double estimate = estimate(signatures, a, b);
+            if (estimate < threshold - ESTIMATE_SLACK) {
+                similarity[i] = 0;
+            } else if (estimate >= threshold + ESTIMATE_SLACK) {
+                similarity[i] = -estimate;
+            } else {
+                similarity[i] = jaccard(shingles[a], shingles[b]);
+            }
+        });
+        List<Pair> pairs = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            if (Math.abs(similarity[i]) >= threshold) {
+                pairs.add(new Pair((int) (candidates[i] >>> 32), (int) candidates[i],
+                        Math.abs(similarity[i]), similarity[i] > 0));
+            }
+        }
+        pairs.sort((x, y) -> Double.compare(y.similarity(), x.similarity()));
+
+        long nanos = System.nanoTime() - start;
+        Metrics.histogram("dedup.detect").record(nanos);
+        return new Report(texts.toArray(new String[0]), owners.toArray(new int[0][]), pairs, m, nanos);
+    }
+
+    // 글 → 조각 해시 집합 (정렬 + 중복 제거한 int 배열)
+    int[] shingles(String text) {
+        int count = Math.max(1, text.length() - shingle + 1);
+        int[] out = new int[count];
+        for (int i = 0; i < count; i++) {
+            int h = 0x811c9dc5;
+            for (int j = i; j < Math.min(text.length(), i + shingle); j++) {
+                h = (h ^ text.charAt(j)) * 0x01000193;
+            }
+            out[i] = h;
+        }
+        Arrays.sort(out);
+        int m = 0;
+        for (int i = 0; i < out.length; i++) {
+            if (i == 0 || out[i] != out[m - 1]) {
+                out[m++] = out[i];
+            }
+        }
+        return Arrays.copyOf(out, m);
+    }
+
+    // MinHash 서명 - 해시 함수를 HASHES 개 돌리는 대신 조각마다 해시 한 번으로 칸(bin)을 정하고
+    // 칸마다 최솟값을 남김 (one permutation hashing, 조각 수 x HASHES 가 아니라 조각 수 + HASHES)
+    // 조각이 적어서 빈 칸이 생기면 오른쪽(순환)으로 가장 가까운 찬 칸의 값에 거리를 섞어서 채움 (densification)
+    private void sign(int[] set, int[] out, int offset) {
+        Arrays.fill(out, offset, offset + hashes, -1);
+        for (int x : set) {
+            long v = (x ^ seed) * 0xbf58476d1ce4e5b9L;
+            v = (v ^ (v >>> 31)) * 0x94d049bb133111ebL;
+            v ^= v >>> 29;
+            int bin = (int) (((v >>> 32) * hashes) >>> 32);
+            int value = (int) v & 0x7FFFFFFF;
+            if (out[offset + bin] < 0 || value < out[offset + bin]) {
+                out[offset + bin] = value;
+            }
+        }
+        // 원래 찬 칸에서만 빌려 오도록 뒤에서부터 두 바퀴 훑으며 가장 가까운 찬 칸을 들고 감
+        int near = -1;
+        for (int i = 2 * hashes - 1; i >= 0; i--) {
+            int h = i % hashes;
+            if (out[offset + h] >= 0) {
+                near = i;   // 첫 바퀴(i < hashes)에서도 아직 이 칸은 채우지 않았으므로 원래 찬 칸
+            } else if (i < hashes && near >= 0) {
+                int filled = out[offset + near % hashes];
+                // 빌려 온 거리도 섞어서 다른 칸과 우연히 같아지지 않게
+                out[offset + h] = (filled + (near - i) * 0x9E3779B1) & 0x7FFFFFFF;
+            }
+        }
+    }
+
+    // 묶음 band 에서 같은 해시를 가진 글끼리 후보 쌍 ((작은 번호 << 32) | 큰 번호)
+    private long[] candidates(int[] signatures, int n, int band) {
+        long[] keyed = new long[n];
+        for (int t = 0; t < n; t++) {
+            int base = t * hashes + band * rows;
+            int h = 0x811c9dc5;
+            for (int r = 0; r < rows; r++) {
+                h = (h ^ signatures[base + r]) * 0x01000193;
+            }
+            keyed[t] = (long) h << 32 | t;
+        }
+        Arrays.sort(keyed);
+        long[] pairs = new long[16];
+        int count = 0;
+        for (int i = 0; i < n; ) {
+            int j = i + 1;
+            while (j < n && (keyed[j] >>> 32) == (keyed[i] >>> 32)) {
+                j++;
+            }
+            int size = j - i;
+            if (size > 1) {
+                // 칸이 너무 크면 첫 항목과의 쌍만 (같은 본문을 아주 많이 쓴 경우 쌍 수가 제곱으로 늘지 않도록)
+                int inner = size > MAX_BUCKET ? i + 1 : j;
+                for (int x = i; x < inner; x++) {
+                    for (int y = x + 1; y < j; y++) {
+                        if (count == pairs.length) {
+                            pairs = Arrays.copyOf(pairs, count * 2);
+                        }
+                        int a = (int) keyed[x];
+                        int b = (int) keyed[y];     // 같은 해시 안에서는 글 번호 순서로 정렬되어 있어 a < b
+                        pairs[count++] = (long) a << 32 | b;
+                    }
+                }
+            }
+            i = j;
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    // MinHash 추정 유사도 - 두 서명에서 같은 칸의 비율
+    private double estimate(int[] signatures, int a, int b) {
+        int same = 0;
+        int x = a * hashes;
+        int y = b * hashes;
+        for (int h = 0; h < hashes; h++) {
+            if (signatures[x + h] == signatures[y + h]) {
+                same++;
+            }
+        }
+        return (double) same / hashes;
+    }
+
+    // 정렬된 두 조각 집합의 자카드 유사도 (교집합 / 합집합)
+    static double jaccard(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    // 문제 단위 글 (제목 + 본문 + 선택지)
+    static List<String> questionTexts(QuestionBank bank) {
+        List<String> out = new ArrayList<>(bank.size());
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < bank.size(); i++) {
+            QuestionConfig cfg = bank.get(i);
+            sb.setLength(0);
+            TextNormalizer.append(cfg.questionText.replaceFirst("^Q\\d+\\.", ""), sb);     // 문제 번호는 빼고 비교
+            TextNormalizer.append(cfg.passage, sb);
+            for (String choice : cfg.choices) {
+                TextNormalizer.append(choice, sb);
+            }
+            out.add(sb.toString());
+        }
+        return out;
+    }
+
+    // 선택지 단위 글 (문제 i 의 선택지 c → 목록 번호 offsets[i] + c)
+    static List<String> choiceTexts(QuestionBank bank, int[] offsets) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < bank.size(); i++) {
+            offsets[i] = out.size();
+            out.addAll(Arrays.asList(bank.get(i).choices));
+        }
+        offsets[bank.size()] = out.size();
+        return out;
+    }
+
+    public static void main(String[] args) {
+        QuestionBank bank = QuestionBank.load();
+        NearDuplicateDetector detector = new NearDuplicateDetector();
+        System.out.printf(Locale.ROOT, "문제 %d개, 서명 %d개 = %d묶음 x %d, 조각 %d글자, 기준 %.2f%n",
+                bank.size(), detector.hashes, detector.bands, detector.rows, detector.shingle, THRESHOLD);
+
+        Report questions = detector.detect(questionTexts(bank), THRESHOLD);
+        print("문제", questions, owner -> "Q" + (owner + 1));
+
+        int[] offsets = new int[bank.size() + 1];
+        Report choices = detector.detect(choiceTexts(bank, offsets), THRESHOLD);
+        print("선택지", choices, owner -> {
+            int q = Arrays.binarySearch(offsets, owner);
+            q = q >= 0 ? q : -q - 2;
+            while (q + 1 < offsets.length && offsets[q + 1] == owner) {
+                q++;    // 선택지가 없는 문제 건너뜀
+            }
+            return "Q" + (q + 1) + "-" + (owner - offsets[q] + 1);
+        });
+    }
+
+    private static void print(String what, Report report, IntFunction<String> ownerName) {
+        System.out.printf(Locale.ROOT, "%n[%s] 고유 글 %d개, 똑같은 글 %d묶음, 후보 쌍 %d개 → 거의 같은 쌍 %d개 (%.1f ms)%n",
+                what, report.texts().length, report.exactGroups(), report.candidates(), report.pairs().size(),
+                report.nanos() / 1_000_000.0);
+        int lines = 0;
+        for (int t = 0; t < report.texts().length && lines < LIMIT; t++) {
+            if (report.owners()[t].length > 1) {
+                System.out.printf("  같음  %s  %s%n", owners(report.owners()[t], ownerName), preview(report.texts()[t]));
+                lines++;
+            }
+        }
+        for (Pair p : report.pairs()) {
+            if (lines++ >= LIMIT) {
+                System.out.printf("  ... (-Dquiz.dedup.limit 로 더 보기)%n");
+                break;
+            }
+            System.out.printf(Locale.ROOT, "  %s%.2f %s ↔ %s%n        %s%n        %s%n", p.exact() ? " " : "≈", p.similarity(),
+                    owners(report.owners()[p.a()], ownerName), owners(report.owners()[p.b()], ownerName),
+                    preview(report.texts()[p.a()]), preview(report.texts()[p.b()]));
+        }
+    }
+
+    private static String owners(int[] owners, IntFunction<String> ownerName) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(owners.length, 5); i++) {
+            sb.append(i > 0 ? "," : "").append(ownerName.apply(owners[i]));
+        }
+        if (owners.length > 5) {
+            sb.append(" 외 ").append(owners.length - 5);
+        }
+        return sb.toString();
+    }
+
+    private static String preview(String text) {
+        return text.length() > 50 ? text.substring(0, 50) + "…" : text;
+    }
+}
@@ -0,0 +1,326 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.awt.geom.Rectangle2D;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 문제 본문(passage)을 직접 그리는 컴포넌트 (예전: <html><div style='width:..'> JLabel)
+// - HTML JLabel 은 라벨마다 Swing HTML/CSS View 트리를 만들고, 리사이즈로 너비를 바꿀 때마다 setText 로 다시 파싱했음
+// - 여기서는 본문에 실제로 쓰는 표시만(&nbsp, <u>, 테두리 <span>, <br>, 따옴표 엔티티) 한 번 읽어서
+//   글자 + 밑줄/테두리 범위(Text)로 만들어 두고, LineBreakMeasurer 로 줄을 나눈 TextLayout 을 바로 그린다.
+// - 줄 나누기 결과는 (글자 크기, 너비 구간) 별로 최근 CACHE_SIZE 개를 기억 → 배율을 왔다 갔다 해도 다시 계산하지 않음
+//   너비는 WIDTH_BUCKET px 단위로 내려서 맞춤 (몇 px 차이로 줄 나누기를 다시 하지 않도록)
+// - 모양은 예전 CSS 와 같게: 회색 1px 테두리 + 안쪽 여백 PADDING, 너비는 setContentWidth 로 지정 (CSS 의 width px)
+@SuppressWarnings("serial")
+public class PassageView extends JComponent {
+    static final int WIDTH_BUCKET = Integer.getInteger("quiz.passage.widthBucket", 8);
+    static final int CACHE_SIZE = 4;
+    static final int PADDING = 10;
+    static final int BORDER = 1;
+    static final int BOX_PADDING = 2;   // 테두리 <span> 의 안쪽 여백
+    // Swing HTML 은 CSS 의 px 을 1.3배로 그렸음 (width:500px → 650, padding:10px → 13)
+    // 테두리(1px 그대로)와 여백도 그 너비 안에 들어감 → 줄 너비는 650 - 2 * (13 + 1) = 622
+    static final float CSS_PX = 1.3f;
+    static final int INSET = Math.round(PADDING * CSS_PX) + BORDER;   // 테두리 + 안쪽 여백 (한쪽)
+    // 재기와 그리기를 같은 기준으로 (그래픽스 없이도 줄 나누기를 할 수 있도록 고정)
+    static final FontRenderContext FRC = new FontRenderContext(null, true, true);
+
+    // 본문을 읽은 결과 - 글자와 밑줄/테두리 범위 ([시작, 끝) 쌍), 문단은 '\n' 으로 구분
+    public record Text(String chars, int[] underlines, int[] boxes) {
+    }
+
+    // 한 (글자 크기, 너비 구간) 의 줄 나누기 결과
+    private record Lines(TextLayout[] layouts, int[] starts, float[] baselines, float height) {
+    }
+
+    private final Text text;
+    private int contentWidth = 500;
+    private final Map<Long, Lines> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Lines> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public PassageView(Text text, Font font) {
+        this.text = text;
+        setFont(font);
+        setForeground(UIManager.getColor("Label.foreground"));
+        setOpaque(false);
+        setAlignmentX(Component.LEFT_ALIGNMENT);
+    }
+
+    // 너비 (예전 CSS 의 width px, Swing HTML 처럼 테두리/여백 포함해서 CSS_PX 배) - 바뀔 때만 다시 배치
+    public void setContentWidth(int width) {
+        if (width != contentWidth) {
+            contentWidth = width;
+            revalidate();
+            repaint();
+        }
+    }
+
+    public int getContentWidth() {
+        return contentWidth;
+    }
+
+    @Override
+    public void setFont(Font font) {
+        if (font != getFont()) {
+            super.setFont(font);
+            revalidate();
+            repaint();
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        return new Dimension(outerWidth(), (int) Math.ceil(lines().height()) + 2 * INSET);
+    }
+
+    // JLabel 처럼 늘어나지 않음 (BoxLayout 에서 원하는 크기 그대로)
+    @Override
+    public Dimension getMaximumSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public Dimension getMinimumSize() {
+        return getPreferredSize();
+    }
+
+    // 테두리까지 포함한 전체 너비 (px)
+    private int outerWidth() {
+        return Math.round(contentWidth * CSS_PX);
+    }
+
+    // 실제로 줄을 채우는 너비 (px)
+    private int lineWidth() {
+        return Math.max(1, outerWidth() - 2 * INSET);
+    }
+
+    // 지금 글자 크기와 너비의 줄 나누기 (없으면 계산해서 기억)
+    private Lines lines() {
+        Font font = getFont();
+        int width = lineWidth();
+        int bucket = Math.max(WIDTH_BUCKET, width - width % WIDTH_BUCKET);
+        long key = (long) Float.floatToIntBits(font.getSize2D()) << 32 | bucket;
+        Lines lines = cache.get(key);
+        if (lines == null) {
+            lines = layout(font, bucket);
+            cache.put(key, lines);
+        }
+        return lines;
+    }
+
+    // 문단마다 LineBreakMeasurer 로 width 안에 들어가게 줄 나누기
+    private Lines layout(Font font, int width) {
+        long start = System.nanoTime();
+        List<TextLayout> layouts = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        List<Float> baselines = new ArrayList<>();
+        float y = 0;
+        String chars = text.chars();
+        int from = 0;
+        while (from <= chars.length()) {
+            int end = chars.indexOf('\n', from);
+            if (end < 0) {
+                end = chars.length();
+            }
+            if (end == from) {
+                // 빈 문단은 빈 줄 한 칸
+                y += font.getSize2D() * 1.2f;
+            } else {
+                LineBreakMeasurer measurer = new LineBreakMeasurer(paragraph(font, from, end).getIterator(), FRC);
+                while (measurer.getPosition() < end - from) {
+                    int lineStart = from + measurer.getPosition();
+                    TextLayout line = measurer.nextLayout(width);
+                    y += line.getAscent();
+                    layouts.add(line);
+                    starts.add(lineStart);
+                    baselines.add(y);
+                    y += line.getDescent() + line.getLeading();
+                }
+            }
+            from = end + 1;
+        }
+        int n = layouts.size();
+        int[] s = new int[n];
+        float[] b = new float[n];
+        for (int i = 0; i < n; i++) {
+            s[i] = starts.get(i);
+            b[i] = baselines.get(i);
+        }
+        Metrics.histogram("passage.layout").record(System.nanoTime() - start);
+        return new Lines(layouts.toArray(new TextLayout[0]), s, b, y);
+    }
+
+    // 문단 [from, to) 의 글자 + 글꼴 + 밑줄 속성
+    private AttributedString paragraph(Font font, int from, int to) {
+        AttributedString as = new AttributedString(text.chars().substring(from, to));
+        as.addAttribute(TextAttribute.FONT, font);
+        int[] u = text.underlines();
+        for (int i = 0; i < u.length; i += 2) {
+            int s = Math.max(u[i], from);
+            int e = Math.min(u[i + 1], to);
+            if (s < e) {
+                as.addAttribute(TextAttribute.UNDERLINE, TextAttribute.UNDERLINE_ON, s - from, e - from);
+            }
+        }
+        return as;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            g2.setColor(Color.GRAY);
+            g2.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
+
+            Lines lines = lines();
+            Rectangle clip = g2.getClipBounds();
+            float x = INSET;
+            float top = INSET;
+            g2.setColor(getForeground());
+            int[] boxes = text.boxes();
+            for (int i = 0; i < lines.layouts().length; i++) {
+                TextLayout line = lines.layouts()[i];
+                float baseline = top + lines.baselines()[i];
+                if (clip != null && (baseline + line.getDescent() < clip.y || baseline - line.getAscent() > clip.y + clip.height)) {
+                    continue;   // 보이지 않는 줄은 건너뜀
+                }
+                line.draw(g2, x, baseline);
+                // 테두리 <span> 범위가 이 줄에 걸쳐 있으면 그 부분에 네모
+                int lineStart = lines.starts()[i];
+                int lineEnd = lineStart + line.getCharacterCount();
+                for (int b = 0; b < boxes.length; b += 2) {
+                    int s = Math.max(boxes[b], lineStart);
+                    int e = Math.min(boxes[b + 1], lineEnd);
+                    if (s < e) {
+                        Rectangle2D r = line.getLogicalHighlightShape(s - lineStart, e - lineStart).getBounds2D();
+                        g2.drawRect((int) (x + r.getX()) - BOX_PADDING, (int) (baseline + r.getY()) - BOX_PADDING,
+                                (int) Math.ceil(r.getWidth()) + 2 * BOX_PADDING, (int) Math.ceil(r.getHeight()) + 2 * BOX_PADDING);
+                    }
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    // 본문 HTML 을 읽어서 Text 로 (쓰는 표시만 처리, 나머지 태그는 무시)
+    //   &nbsp(;) → 줄바꿈 없는 공백, &lt; &gt; &amp; &quot; &#39; 등 → 글자
+    //   <u>..</u> → 밑줄, <span style='border:..'>..</span> → 테두리, <br> → 문단 나눔
+    //   그 밖의 공백(줄바꿈, 탭, 연속 공백)은 HTML 처럼 공백 하나
+    public static Text parse(String html) {
+        StringBuilder out = new StringBuilder(html.length());
+        List<Integer> underlines = new ArrayList<>();
+        List<Integer> boxes = new ArrayList<>();
+        int underlineStart = -1;
+        List<Boolean> spans = new ArrayList<>();     // 열린 <span> 마다 테두리인지
+        int boxStart = -1;
+        int n = html.length();
+        for (int i = 0; i < n; ) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                int end = html.indexOf('>', i);
+                if (end < 0) {
+                    end = n - 1;
+                }
+                String tag = html.substring(i + 1, end).trim().toLowerCase();
+                i = end + 1;
+                if (tag.equals("u")) {
+                    underlineStart = out.length();
+                } else if (tag.equals("/u") && underlineStart >= 0) {
+                    underlines.add(underlineStart);
+                    underlines.add(out.length());
+                    underlineStart = -1;
+                } else if (tag.startsWith("span")) {
+                    boolean box = tag.contains("border");
+                    spans.add(box);
+                    if (box) {
+                        boxStart = out.length();
+                    }
+                } else if (tag.equals("/span") && !spans.isEmpty()) {
+                    if (spans.remove(spans.size() - 1) && boxStart >= 0) {
+                        boxes.add(boxStart);
+                        boxes.add(out.length());
+                        boxStart = -1;
+                    }
+                } else if (tag.startsWith("br") || tag.equals("p") || tag.equals("/p")) {
+                    trimTrailingSpace(out);
+                    out.append('\n');
+                }
+                continue;
+            }
+            if (c == '&') {
+                int end = i + 1;
+                while (end < n && end - i <= 8 && (TextNormalizer.isAsciiLetterOrDigit(html.charAt(end)) || html.charAt(end) == '#')) {
+                    end++;
+                }
+                String name = html.substring(i + 1, end);
+                char decoded = switch (name) {
+                    case "nbsp" -> '\u00A0';   // 글자 그대로 쓰면 보통 공백과 구별이 안 돼서 이스케이프로
+                    case "lt" -> '<';
+                    case "gt" -> '>';
+                    case "amp" -> '&';
+                    case "quot" -> '"';
+                    case "apos", "#39" -> '\'';
+                    case "middot" -> '·';
+                    default -> name.startsWith("#") && name.length() > 1 ? numeric(name) : 0;
+                };
+                if (decoded != 0) {
+                    out.append(decoded);
+                    i = end < n && html.charAt(end) == ';' ? end + 1 : end;
+                    continue;
+                }
+            }
+            if (Character.isWhitespace(c)) {
+                // HTML 처럼 연속 공백은 하나로, 문단 맨 앞 공백은 버림
+                if (out.length() > 0 && out.charAt(out.length() - 1) != ' ' && out.charAt(out.length() - 1) != '\n') {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+            }
+            i++;
+        }
+        trimTrailingSpace(out);
+        return new Text(out.toString(), toArray(underlines), toArray(boxes));
+    }
+
+    private static char numeric(String name) {
+        try {
+            int code = name.length() > 2 && (name.charAt(1) == 'x' || name.charAt(1) == 'X')
+                    ? Integer.parseInt(name.substring(2), 16) : Integer.parseInt(name.substring(1));
+            return code > 0 && code <= Character.MAX_VALUE ? (char) code : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void trimTrailingSpace(StringBuilder out) {
+        if (out.length() > 0 && out.charAt(out.length() - 1) == ' ') {
+            out.setLength(out.length() - 1);
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] a = new int[list.size()];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = list.get(i);
+        }
+        return a;
+    }
+}
@@ -0,0 +1,387 @@
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 같은 글을 한 번만 들고 있는 문제은행 (큰 문제은행을 메모리에 올릴 때)
+// - 모의고사마다 같은 선택지 문장, 같은 본문, 같은 키 배열({'A','B','C','D','E'})이 계속 반복됨
+// - 불러올 때 한 번 훑으면서
+//     제목/본문/이미지 경로 → 같은 글이면 같은 String 하나 (int ID 로 참조)
+//     키 배열             → 같은 키 조합이면 같은 char[] 하나 (sharedKeys, MappedQuestionBank 도 같이 씀)
+//     선택지              → String 객체 없이 큰 byte[] 하나에 조각(slice)으로, 문제는 선택지 ID(int)만 들고 있음
+//                           조각마다 Latin-1 / UTF-8 / UTF-16 중 가장 짧은 것으로 저장 (한글은 보통 UTF-16 이 2바이트로 가장 짧음)
+// - get() 은 그때그때 QuestionConfig 를 만들어 줌 (선택지 String 은 꺼낼 때 만듦, 보관하지 않음)
+//   정답 키 / 키 배열 / 내용 해시는 answer(), keys(), contentHash() 로 만들지 않고 바로 줌 (답 확인, 변경 감지처럼 자주 부르는 곳)
+// 보고서: java PooledQuestionBank [문제 수]   → 합성 문제은행을 "파일에서 읽은 것처럼" 만든 것과 비교해서 절약한 힙 출력
+public final class PooledQuestionBank implements QuestionBank {
+    static final byte LATIN1 = 0;
+    static final byte UTF8 = 1;
+    static final byte UTF16 = 2;
+
+    // 앱 전체에서 같이 쓰는 키 배열 (내용이 같으면 같은 배열, 받은 쪽은 고치면 안 됨)
+    private static final ConcurrentHashMap<String, char[]> KEY_SETS = new ConcurrentHashMap<>();
+
+    private final String[] strings;         // 제목/본문/이미지 경로 (중복 없음)
+    private final char[][] keySets;         // 키 배열 (중복 없음)
+    private final byte[] choiceData;        // 선택지 글 조각들
+    private final int[] choiceOffsets;      // 선택지 ID → choiceData 시작 위치 (개수 + 1)
+    private final byte[] choiceCoders;      // 선택지 ID → 인코딩
+    // 문제별
+    private final int[] titleIds;
+    private final int[] passageIds;         // -1 이면 null
+    private final int[] imageIds;           // -1 이면 null
+    private final BitSet hasImage;
+    private final int[] keySetIds;
+    private final char[] answers;
+    private final int[] choiceStarts;       // 문제 → choiceRefs 시작 위치 (문제 수 + 1)
+    private final int[] choiceRefs;         // 선택지 ID 들
+    private final long[] hashes;            // 문제별 내용 해시 (만들 때 한 번 계산)
+
+    private PooledQuestionBank(Builder b) {
+        strings = b.strings.toArray(new String[0]);
+        keySets = b.keySets.toArray(new char[0][]);
+        choiceData = Arrays.copyOf(b.data, b.dataLength);
+        choiceOffsets = Arrays.copyOf(b.offsets, b.choiceCount + 1);
+        choiceCoders = Arrays.copyOf(b.coders, b.choiceCount);
+        titleIds = b.titleIds;
+        passageIds = b.passageIds;
+        imageIds = b.imageIds;
+        hasImage = b.hasImage;
+        keySetIds = b.keySetIds;
+        answers = b.answers;
+        choiceStarts = b.choiceStarts;
+        choiceRefs = Arrays.copyOf(b.choiceRefs, b.choiceStarts[b.titleIds.length]);
+        hashes = new long[titleIds.length];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = get(i).contentHash();    // get() 이 돌려주는 내용과 같은 해시가 되도록
+        }
+    }
+
+    // 다른 문제은행을 한 번 훑어서 만듦 (원본은 버려도 됨)
+    public static PooledQuestionBank of(QuestionBank source) {
+        Builder b = new Builder(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            b.add(i, source.get(i));
+        }
+        return new PooledQuestionBank(b);
+    }
+
+    public static PooledQuestionBank of(List<QuestionConfig> source) {
+        return of(QuestionBank.of(source.toArray(new QuestionConfig[0])));
+    }
+
+    // 내용이 같은 키 배열은 앱 전체에서 하나만 (호출한 쪽이 나중에 keys 를 고쳐도 공유본이 안 바뀌도록 복사해서 넣음)
+    static char[] sharedKeys(char[] keys) {
+        return KEY_SETS.computeIfAbsent(new String(keys), k -> keys.clone());
+    }
+
+    @Override
+    public int size() {
+        return titleIds.length;
+    }
+
+    @Override
+    public QuestionConfig get(int index) {
+        int from = choiceStarts[index];
+        String[] choices = new String[choiceStarts[index + 1] - from];
+        for (int c = 0; c < choices.length; c++) {
+            choices[c] = choice(choiceRefs[from + c]);
+        }
+        int image = imageIds[index];
+        return new QuestionConfig(strings[titleIds[index]],
+                passageIds[index] < 0 ? null : strings[passageIds[index]],
+                choices, keySets[keySetIds[index]], hasImage.get(index), image < 0 ? null : strings[image], answers[index]);
+    }
+
+    @Override
+    public char answer(int index) {
+        return answers[index];
+    }
+
+    @Override
+    public char[] keys(int index) {
+        return keySets[keySetIds[index]];
+    }
+
+    @Override
+    public long contentHash(int index) {
+        return hashes[index];
+    }
+
+    // index 번 문제 c 번째 선택지의 ID (같은 문장이면 같은 ID)
+    public int choiceId(int index, int c) {
+        return choiceRefs[choiceStarts[index] + c];
+    }
+
+    // 선택지 ID → 글
+    public String choice(int id) {
+        int start = choiceOffsets[id];
+        int length = choiceOffsets[id + 1] - start;
+        return switch (choiceCoders[id]) {
+            case LATIN1 -> new String(choiceData, start, length, StandardCharsets.ISO_8859_1);
+            case UTF16 -> new String(choiceData, start, length, StandardCharsets.UTF_16LE);
+            default -> new String(choiceData, start, length, StandardCharsets.UTF_8);
+        };
+    }
+
+    public int uniqueChoices() {
+        return choiceCoders.length;
+    }
+
+    public int uniqueStrings() {
+        return strings.length;
+    }
+
+    public int uniqueKeySets() {
+        return keySets.length;
+    }
+
+    // 이 문제은행이 차지하는 힙 (객체 크기 추정, 압축 oop 64비트 JVM 기준)
+    public long estimatedHeap() {
+        long sum = 16 * 14;     // 이 객체 + 배열 필드 헤더 정도
+        for (String s : strings) {
+            sum += Heap.string(s);
+        }
+        for (char[] k : keySets) {
+            sum += Heap.chars(k.length);
+        }
+        sum += Heap.bytes(choiceData.length) + Heap.ints(choiceOffsets.length) + Heap.bytes(choiceCoders.length);
+        sum += Heap.refs(strings.length) + Heap.refs(keySets.length);
+        sum += 4L * Heap.ints(titleIds.length) + Heap.bytes(hasImage.size() / 8) + Heap.chars(answers.length) + Heap.ints(choiceStarts.length) + Heap.ints(choiceRefs.length);
+        sum += Heap.longs(hashes.length);
+        return sum;
+    }
+
+    // 보통 문제은행(QuestionConfig 배열)이 차지하는 힙 추정 - 같은 객체는 한 번만 셈
+    static long estimatedHeap(QuestionBank bank) {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        long sum = Heap.refs(bank.size());
+        for (int i = 0; i < bank.size(); i++) {
+            QuestionConfig cfg = bank.get(i);
+            sum += Heap.align(12 + 5 * 4 + 1 + 2);   // QuestionConfig 객체 (참조 5개 + boolean + char)
+            for (Object o : new Object[] {cfg.questionText, cfg.passage, cfg.imagePath}) {
+                if (o != null && seen.add(o)) {
+                    sum += Heap.string((String) o);
+                }
+            }
+            if (seen.add(cfg.keys)) {
+                sum += Heap.chars(cfg.keys.length);
+            }
+            if (seen.add(cfg.choices)) {
+                sum += Heap.refs(cfg.choices.length);
+                for (String choice : cfg.choices) {
+                    if (seen.add(choice)) {
+                        sum += Heap.string(choice);
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    // 객체 크기 계산 (헤더 12바이트 + 8바이트 정렬, 배열 헤더 16바이트, String 은 compact string)
+    static final class Heap {
+        private Heap() {
+        }
+
+        static long align(long size) {
+            return (size + 7) & ~7L;
+        }
+
+        static long bytes(int n) {
+            return align(16 + n);
+        }
+
+        static long chars(int n) {
+            return align(16 + 2L * n);
+        }
+
+        static long ints(int n) {
+            return align(16 + 4L * n);
+        }
+
+        static long longs(int n) {
+            return align(16 + 8L * n);
+        }
+
+        static long refs(int n) {
+            return align(16 + 4L * n);
+        }
+
+        static long string(String s) {
+            boolean latin1 = true;
+            for (int i = 0; i < s.length() && latin1; i++) {
+                latin1 = s.charAt(i) < 256;
+            }
+            return 24 + bytes(latin1 ? s.length() : 2 * s.length());
+        }
+    }
+
+    // 불러오는 동안만 쓰는 표 (중복 찾기용 HashMap 은 다 만들고 나면 버림)
+    private static final class Builder {
+        final List<String> strings = new ArrayList<>();
+        final Map<String, Integer> stringIds = new HashMap<>();
+        final List<char[]> keySets = new ArrayList<>();
+        final Map<String, Integer> keySetIdMap = new HashMap<>();
+        final Map<String, Integer> choiceIds = new HashMap<>();
+        byte[] data = new byte[1 << 16];
+        int dataLength;
+        int[] offsets = new int[1 << 10];
+        byte[] coders = new byte[1 << 10];
+        int choiceCount;
+
+        final int[] titleIds;
+        final int[] passageIds;
+        final int[] imageIds;
+        final BitSet hasImage;
+        final int[] keySetIds;
+        final char[] answers;
+        final int[] choiceStarts;
+        int[] choiceRefs;
+
+        Builder(int n) {
+            titleIds = new int[n];
+            passageIds = new int[n];
+            imageIds = new int[n];
+            hasImage = new BitSet(n);
+            keySetIds = new int[n];
+            answers = new char[n];
+            choiceStarts = new int[n + 1];
+            choiceRefs = new int[n * 5];
+        }
+
+        void add(int i, QuestionConfig cfg) {
+            titleIds[i] = string(cfg.questionText == null ? "" : cfg.questionText);
+            passageIds[i] = cfg.passage == null ? -1 : string(cfg.passage);
+            imageIds[i] = cfg.imagePath == null ? -1 : string(cfg.imagePath);
+            hasImage.set(i, cfg.hasImage);
+            char[] keys = sharedKeys(cfg.keys);
+            keySetIds[i] = keySetIdMap.computeIfAbsent(new String(keys), k -> {
+                keySets.add(keys);
+                return keySets.size() - 1;
+            });
+            answers[i] = cfg.answer;
+            int from = choiceStarts[i];
+            if (from + cfg.choices.length > choiceRefs.length) {
+                choiceRefs = Arrays.copyOf(choiceRefs, Math.max(choiceRefs.length * 2, from + cfg.choices.length));
+            }
+            for (int c = 0; c < cfg.choices.length; c++) {
+                choiceRefs[from + c] = choice(cfg.choices[c]);
+            }
+            choiceStarts[i + 1] = from + cfg.choices.length;
+        }
+
+        int string(String s) {
+            Integer id = stringIds.get(s);
+            if (id == null) {
+                id = strings.size();
+                stringIds.put(s, id);
+                strings.add(s);
+            }
+            return id;
+        }
+
+        int choice(String s) {
+            Integer id = choiceIds.get(s);
+            if (id != null) {
+                return id;
+            }
+            // 가장 짧게 저장되는 인코딩 고르기
+            byte coder;
+            byte[] bytes;
+            boolean latin1 = true;
+            for (int i = 0; i < s.length() && latin1; i++) {
+                latin1 = s.charAt(i) < 256;
+            }
+            if (latin1) {
+                coder = LATIN1;
+                bytes = s.getBytes(StandardCharsets.ISO_8859_1);
+            } else {
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                if (utf8.length <= 2 * s.length()) {
+                    coder = UTF8;
+                    bytes = utf8;
+                } else {
+                    coder = UTF16;
+                    bytes = s.getBytes(StandardCharsets.UTF_16LE);
+                }
+            }
+            id = choiceCount++;
+            if (choiceCount >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                coders = Arrays.copyOf(coders, coders.length * 2);
+            }
+            if (dataLength + bytes.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + bytes.length));
+            }
+            System.arraycopy(bytes, 0, data, dataLength, bytes.length);
+            offsets[id] = dataLength;
+            coders[id] = coder;
+            dataLength += bytes.length;
+            offsets[id + 1] = dataLength;
+            choiceIds.put(s, id);
+            return id;
+        }
+    }
+
+    // 보고서 - 합성 문제은행을 "파일에서 한 줄씩 읽은 것처럼" (글마다 따로 만든 String, 문제마다 키 배열) 만들고
+    // 그대로 들고 있을 때와 PooledQuestionBank 로 바꿨을 때의 힙을 비교 (추정치 + 실제 GC 후 측정)
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        QuestionBank synthetic = SyntheticBank.generate(count, 42);
+
+        long base = usedHeap();
+        QuestionConfig[] loaded = new QuestionConfig[count];
+        for (int i = 0; i < count; i++) {
+            QuestionConfig cfg = synthetic.get(i);
+            String[] choices = new String[cfg.choices.length];
+            for (int c = 0; c < choices.length; c++) {
+                choices[c] = copy(cfg.choices[c]);
+            }
+            loaded[i] = new QuestionConfig(copy(cfg.questionText), copy(cfg.passage),
+                    choices, cfg.keys.clone(), cfg.hasImage, copy(cfg.imagePath), cfg.answer);
+        }
+        long plainMeasured = usedHeap() - base;
+        QuestionBank plain = QuestionBank.of(loaded);
+        long plainEstimated = estimatedHeap(plain);
+
+        long start = System.nanoTime();
+        PooledQuestionBank pooled = of(plain);
+        long took = System.nanoTime() - start;
+        plain = null;
+        loaded = null;
+        long pooledMeasured = usedHeap() - base;
+
+        System.out.printf(Locale.ROOT, "문제 %d개 → 고유 글 %d개, 고유 선택지 %d개, 고유 키 배열 %d개 (%.1f ms)%n",
+                count, pooled.uniqueStrings(), pooled.uniqueChoices(), pooled.uniqueKeySets(), took / 1_000_000.0);
+        System.out.printf(Locale.ROOT, "추정: %,d → %,d bytes (%.1f%% 절약)%n",
+                plainEstimated, pooled.estimatedHeap(), 100.0 * (plainEstimated - pooled.estimatedHeap()) / plainEstimated);
+        System.out.printf(Locale.ROOT, "측정: %,d → %,d bytes (%.1f%% 절약)%n",
+                plainMeasured, pooledMeasured, 100.0 * (plainMeasured - pooledMeasured) / Math.max(1, plainMeasured));
+        // 측정이 끝날 때까지 synthetic(기준선에 포함) 과 pooled 가 수거되지 않도록
+        Reference.reachabilityFence(synthetic);
+        Reference.reachabilityFence(pooled);
+    }
+
+    // 파일에서 읽은 글처럼 내용 배열까지 따로 가진 String (new String(s) 는 배열을 같이 씀)
+    private static String copy(String s) {
+        return s == null ? null : new String(s.toCharArray());
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -1,26 +1,44 @@
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Question {
-    private final QuizApp app;       // QuizApp 클래스 인스턴스 참조.
+    private final ExamSession session; // 답을 기록할 시험 세션 (화면 없이도 문제 화면을 만들 수 있도록 QuizApp 대신 세션만 받음)
     private final int idx;           // 현재 문제의 인덱스 번호 (0부터 시작)
     private final String questionText; // 문제의 제목 또는 질문 텍스트.
     private final String passage;      // 문제 본문 또는 설명 텍스트.
     private final String[] choices;    // 문제의 선택지 텍스트 배열.
     private final char[] keys;         // 선택지들의 고유 키 배열. 보통 'A', 'B', 'C' 등.
+    private final byte[] choiceOrder;  // 응시자별 선택지 순서표 (ExamVariant, 섞지 않으면 null) - choices 는 복사하지 않음
+    private final int choiceOffset;    // choiceOrder 안에서 이 문제 선택지 순서가 시작하는 위치
     private JLabel imageLabel;         // 문제에 첨부된 이미지를 보여줄 JLabel 객체.
-    private ImageIcon originalIcon;    // 원본 이미지 아이콘 객체 저장.
+    private BufferedImage originalImage; // 원본 이미지 저장. (백그라운드 디코딩이 끝나기 전에는 null)
+    private int imageRequest;          // 이미지 크기 조절 요청 번호 (늦게 도착한 예전 결과 무시용)
+
+    private JPanel panel;              // 현재 만들어져 있는 문제 화면 (없으면 null)
+    private PassageView passageView;   // 현재 화면의 본문 (본문이 없으면 null)
+    private PassageView.Text passageText; // 본문 HTML 을 한 번 읽어 둔 것 (카드를 다시 만들어도 그대로 씀)
+    private float appliedScale = -1f;  // 현재 화면에 적용된 배율 (같은 배율이면 다시 계산하지 않음)
+    private float lastScale = -1f;     // 마지막으로 적용된 화면 배율 (아직 리사이즈 전이면 -1)
 
     private List<JRadioButton> choiceButtons = new ArrayList<>();
     // 이 문제의 선택지들을 담은 JRadioButton 리스트.
     // 답 제출 후 비활성화(disable) 작업 시 사용.
 
     // 생성자 - 문제 제목, 본문, 선택지, 키, 이미지 경로 등 초기화
-    public Question(QuizApp app, int idx, String questionText, String passage, String[] choices, char[] keys, String imagePath) {
-        this.app = app;               // QuizApp 객체 참조 저장(답 표시 갱신에 필요)
+    public Question(ExamSession session, int idx, String questionText, String passage, String[] choices, char[] keys, String imagePath) {
+        this(session, idx, questionText, passage, choices, keys, imagePath, null, 0);
+    }
+
+    // 선택지를 섞어서 보여주는 경우 - 화면 i 번째 칸에 choices[choiceOrder[choiceOffset + i]] 를 보여주고
+    // 키는 keys[i] 그대로 (화면에서는 항상 ①②③ 순서, 답안지에도 화면 키가 기록됨 → 채점 때 ExamVariant 가 되돌림)
+    public Question(ExamSession session, int idx, String questionText, String passage, String[] choices, char[] keys, String imagePath,
+                    byte[] choiceOrder, int choiceOffset) {
+        this.choiceOrder = choiceOrder;
+        this.choiceOffset = choiceOffset;
+        this.session = session;       // 시험 세션 저장 (답 기록, 답 표시 갱신은 답안지 리스너가 처리)
         this.idx = idx;               // 문제 번호 저장
         this.questionText = questionText; // 문제 제목 저장
         this.passage = passage;           // 문제 본문 저장
@@ -29,12 +47,12 @@ public class Question {
 
         // 이미지 경로가 null이 아니고 빈 문자열이 아니면 이미지 로딩 시도
         if (imagePath != null && !imagePath.isEmpty()) {
-            // 클래스패스 기반으로 이미지 리소스 경로 가져오기 (리소스 파일 위치에 따라 다름)
-            java.net.URL imgUrl = getClass().getResource(imagePath);
-            if (imgUrl != null) {
-                // 이미지가 존재하면 ImageIcon 생성 후 JLabel에 담기
-                originalIcon = new ImageIcon(imgUrl);
-                imageLabel = new JLabel(originalIcon);
+            // 클래스패스 기반으로 이미지 리소스가 있는지만 먼저 확인 (디코딩은 하지 않음)
+            if (ImageCache.resolve(imagePath) != null) {
+                // 우선 자리표시 문구를 보여주고, 실제 디코딩은 백그라운드 스레드에서 진행
+                imageLabel = new JLabel("이미지 불러오는 중...");
+                ImageCache.shared().load(imagePath).whenComplete((img, err) ->
+                        SwingUtilities.invokeLater(() -> onImageLoaded(imagePath, img, err)));
             } else {
                 // 이미지 경로에 파일이 없으면 에러 메시지 콘솔 출력
                 System.err.println("이미지를 찾을 수 없습니다: " + imagePath);
@@ -42,6 +60,24 @@ public class Question {
         }
     }
 
+    // 백그라운드 디코딩이 끝나면 EDT에서 호출 - 자리표시 문구를 실제 이미지로 교체
+    private void onImageLoaded(String imagePath, BufferedImage img, Throwable err) {
+        if (err != null || img == null) {
+            System.err.println("이미지를 불러오지 못했습니다: " + imagePath);
+            imageLabel.setText("이미지를 불러오지 못했습니다.");
+            return;
+        }
+        originalImage = img;
+        imageLabel.setText(null);
+        if (lastScale > 0) {
+            resizeImage(lastScale);       // 이미 리사이즈가 한 번 일어났으면 그 크기에 맞춰서
+        } else {
+            imageLabel.setIcon(new ImageIcon(originalImage));
+        }
+        imageLabel.revalidate();
+        imageLabel.repaint();
+    }
+
     // 문제를 보여줄 JPanel 생성 및 반환하는 메서드
     public JPanel createPanel() {
         JPanel panel = new JPanel();                      // 문제 화면을 담을 새 JPanel 생성
@@ -58,108 +94,22 @@ public class Question {
             panel.add(Box.createRigidArea(new Dimension(0, 5))); // 이미지와 다음 컴포넌트 사이 간격 5픽셀
         }
 
-        JLabel passageLabel = null; // 본문 텍스트용 JLabel 변수 선언 (없으면 null)
+        PassageView passageView = null; // 본문 (없으면 null)
+        // (리사이즈 리스너는 카드마다 달지 않고 QuizApp의 RescaleScheduler가 applyScale을 호출해 줌)
         if (passage != null && !passage.isEmpty()) {
-            // 본문도 HTML 태그 + CSS 스타일 적용 (너비 500px, 회색 테두리, 10px 패딩)
-            passageLabel = makeLabel(
-                    "<html><div style='width:500px; border:1px solid gray; padding:10px;'>" + passage + "</div></html>",
-                    Font.PLAIN, 15);
-            panel.add(passageLabel);                       // 본문 라벨 패널에 추가
+            // 본문은 HTML 라벨 대신 PassageView 가 직접 그림 (너비 500px, 회색 테두리, 10px 패딩은 같음)
+            if (passageText == null) {
+                passageText = PassageView.parse(passage);   // 본문 표시(&nbsp, <u> 등)는 처음 한 번만 읽음
+            }
+            passageView = new PassageView(passageText, FontRegistry.get(Font.PLAIN, 15));
+            panel.add(passageView);                        // 본문 패널에 추가
             panel.add(Box.createRigidArea(new Dimension(0, 5))); // 본문과 다음 컴포넌트 사이 5픽셀 간격
         }
 
-        // 람다 함수 내부에서 사용하려면 final 혹은 effectively final이어야 하므로 복사본 생성
-        JLabel finalPassageLabel = passageLabel;
-
-        // 패널이 리사이즈될 때 자동으로 폰트 크기, 본문 너비, 이미지 크기 재조정하는 리스너 등록
-        panel.addComponentListener(new ComponentAdapter() {
-            @Override
-            public void componentResized(ComponentEvent e) {
-                // 현재 패널 크기 측정
-                int width = panel.getWidth();
-                int height = panel.getHeight();
-
-                // 기준 디자인 크기 (이 크기를 1로 보고 비율 계산)
-                int baseWidth = 800;
-                int baseHeight = 500;
-
-                // 가로, 세로 스케일 계산 (현재 크기 대비 기준 크기 비율)
-                float scaleW = (float) width / baseWidth;
-                float scaleH = (float) height / baseHeight;
-
-                // 실제 적용할 스케일은 가로/세로 중 작은 값으로 (비율 유지 위해)
-                float scale = Math.min(scaleW, scaleH);
-
-                // 본문 라벨이 있으면 본문 너비도 스케일에 맞춰서 조절
-                if (finalPassageLabel != null) {
-                    int passageWidth = (int) (500 * scale); // 원래 500px 너비 * 스케일
-
-                    // 본문 HTML 스타일에 너비 반영하여 다시 세팅
-                    String updatedHtml = "<html><div style='width:" + passageWidth + "px; border:1px solid gray; padding:10px;'>" + passage + "</div></html>";
-                    finalPassageLabel.setText(updatedHtml);
-                }
-
-                // 패널 내 각 컴포넌트에 대해 폰트 크기도 스케일 맞게 변경
-                for (Component comp : panel.getComponents()) {
-                    if (comp instanceof JLabel label) {
-                        // JLabel 폰트 크기 20 * 스케일 배수로 변경 (제목, 본문 등)
-                        label.setFont(label.getFont().deriveFont(label.getFont().getStyle(), 20 * scale));
-                    } else if (comp instanceof JScrollPane sp) {
-                        // JScrollPane 안에 선택지들이 있으므로 그 안도 순회하며 폰트 크기 변경
-                        Component view = sp.getViewport().getView();
-                        if (view instanceof JPanel innerPanel) {
-                            for (Component row : innerPanel.getComponents()) {
-                                if (row instanceof JPanel innerRow) {
-                                    for (Component c : innerRow.getComponents()) {
-                                        if (c instanceof JLabel label) {
-                                            label.setFont(label.getFont().deriveFont(label.getFont().getStyle(), 20 * scale));
-                                        } else if (c instanceof JRadioButton btn) {
-                                            btn.setFont(btn.getFont().deriveFont(btn.getFont().getStyle(), 20 * scale));
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-
-                // 이미지가 있을 때는 비율 유지하며 최대 크기 제한에 맞춰 크기 조절
-                if (imageLabel != null && originalIcon != null) {
-                    int maxWidth = 400;  // 최대 가로 크기 (px)
-                    int maxHeight = 300; // 최대 세로 크기 (px)
-
-                    int originalWidth = originalIcon.getIconWidth();   // 원본 이미지 가로 크기
-                    int originalHeight = originalIcon.getIconHeight(); // 원본 이미지 세로 크기
-
-                    // 스케일을 적용해 새 크기 계산
-                    int newWidth = (int) (originalWidth * scale);
-                    int newHeight = (int) (originalHeight * scale);
-
-                    // 최대 크기 대비 가로/세로 비율 계산
-                    float widthRatio = (float) maxWidth / newWidth;
-                    float heightRatio = (float) maxHeight / newHeight;
-
-                    // 가로, 세로 제한 중 더 엄격한 제한 적용 (1보다 클 수 없음)
-                    float minRatio = Math.min(1f, Math.min(widthRatio, heightRatio));
-
-                    // 최종 크기 결정 (비율 유지)
-                    newWidth = (int) (newWidth * minRatio);
-                    newHeight = (int) (newHeight * minRatio);
-
-                    // 최소 크기 1픽셀 보장 (0 이하는 안 됨)
-                    newWidth = Math.max(newWidth, 1);
-                    newHeight = Math.max(newHeight, 1);
-
-                    // 이미지 부드럽게 스케일링 후 아이콘 설정
-                    Image scaledImg = originalIcon.getImage().getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
-                    imageLabel.setIcon(new ImageIcon(scaledImg));
-                }
-
-                // 변경사항 반영: 레이아웃 다시 계산, 다시 그리기
-                panel.revalidate();
-                panel.repaint();
-            }
-        });
+        // 화면 크기에 맞춘 조절(applyScale)에서 다시 쓰기 위해 보관
+        this.panel = panel;
+        this.passageView = passageView;
+        this.appliedScale = -1f;
 
         // 선택지들은 ButtonGroup에 넣어서 한 문제 내에서 하나만 선택 가능하게 설정
         ButtonGroup group = new ButtonGroup();
@@ -182,19 +132,27 @@ public class Question {
             String number = choiceCharToNumber(choiceKey); // 키를 '①', '②' 형태로 변환
 
             // 선택지 라디오 버튼 생성 (번호 + 텍스트)
-            JRadioButton choiceBtn = new JRadioButton(number + " " + choices[i]);
-            choiceBtn.setFont(new Font("맑은 고딕", Font.PLAIN, 20));  // 폰트 지정
+            String text = choices[choiceOrder == null ? i : choiceOrder[choiceOffset + i]];
+            JRadioButton choiceBtn = new JRadioButton(number + " " + text);
+            choiceBtn.setFont(FontRegistry.get(Font.PLAIN, 20));  // 폰트 지정
             choiceBtn.setOpaque(false);                                // 배경 투명
             choiceBtn.setAlignmentY(Component.CENTER_ALIGNMENT);       // 세로 중앙 정렬
 
             int index = idx;  // 람다에서 쓰기 위해 final or effectively final 변수로 복사
             choiceBtn.addActionListener(e -> {
                 // 버튼 클릭 시 해당 문제에 선택한 답안 저장
-                QuizApp.userAnswers[index] = choiceKey;
-                // QuizApp에 선택한 답 표시 갱신 요청
-                app.updateAnswerLabel(index);
+                // (답안지가 변경 알림을 보내서 네비게이션 답 표시도 함께 갱신됨)
+                session.answer(index, choiceKey);
             });
 
+            // 카드를 다시 만드는 경우(지연 생성/정리 후 재생성) 이미 고른 답과 제출 상태 복원
+            if (session.getAnswerSheet().get(index) == choiceKey) {
+                choiceBtn.setSelected(true);
+            }
+            if (session.isSubmitted()) {
+                choiceBtn.setEnabled(false);
+            }
+
             group.add(choiceBtn);  // ButtonGroup에 버튼 추가 (상호 배타적 선택 보장)
             row.add(choiceBtn);    // 선택지 한 줄 패널에 버튼 추가
             row.setAlignmentX(Component.LEFT_ALIGNMENT); // 가로 방향 왼쪽 정렬
@@ -216,22 +174,114 @@ public class Question {
         return panel;  // 완성된 문제 화면 패널 반환
     }
 
-    // 선택지 키 문자(A, B, C 등)를 ①, ②, ③ ... 으로 바꿔주는 헬퍼 메서드
-    private String choiceCharToNumber(char ch) {
-        return switch (ch) {
-            case 'A' -> "①";
-            case 'B' -> "②";
-            case 'C' -> "③";
-            case 'D' -> "④";
-            case 'E' -> "⑤";
-            default -> "";
-        };
+    // 화면 배율을 이 문제 화면에 적용 (RescaleScheduler가 EDT에서 호출)
+    // - 이미 같은 배율이 적용되어 있으면 아무것도 하지 않는다.
+    // - 본문은 너비와 글자 크기만 넘겨줌 (줄 나누기는 PassageView 가 너비 구간별로 기억해 둠)
+    public void applyScale(float scale) {
+        if (panel == null || scale <= 0 || scale == appliedScale) {
+            return;
+        }
+        appliedScale = scale;
+
+        // 본문이 있으면 본문 너비(원래 500px * 스케일)와 글자 크기도 스케일에 맞춰서 조절
+        if (passageView != null) {
+            passageView.setContentWidth((int) (500 * scale));
+            passageView.setFont(FontRegistry.get(Font.PLAIN, 20 * scale));
+        }
+
+        // 패널 내 각 컴포넌트에 대해 폰트 크기도 스케일 맞게 변경
+        for (Component comp : panel.getComponents()) {
+            if (comp instanceof JLabel label) {
+                // JLabel 폰트 크기 20 * 스케일 배수로 변경 (제목, 본문 등)
+                label.setFont(FontRegistry.get(label.getFont().getStyle(), 20 * scale));
+            } else if (comp instanceof JScrollPane sp) {
+                // JScrollPane 안에 선택지들이 있으므로 그 안도 순회하며 폰트 크기 변경
+                Component view = sp.getViewport().getView();
+                if (view instanceof JPanel innerPanel) {
+                    for (Component row : innerPanel.getComponents()) {
+                        if (row instanceof JPanel innerRow) {
+                            for (Component c : innerRow.getComponents()) {
+                                if (c instanceof JLabel label) {
+                                    label.setFont(FontRegistry.get(label.getFont().getStyle(), 20 * scale));
+                                } else if (c instanceof JRadioButton btn) {
+                                    btn.setFont(FontRegistry.get(btn.getFont().getStyle(), 20 * scale));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // 이미지가 있을 때는 비율 유지하며 최대 크기 제한에 맞춰 크기 조절
+        lastScale = scale;
+        resizeImage(scale);
+
+        // 변경사항 반영: 레이아웃 다시 계산, 다시 그리기
+        panel.revalidate();
+        panel.repaint();
+    }
+
+    // 화면 배율에 맞춰 이미지 크기 조절 (비율 유지, 최대 크기 제한)
+    private void resizeImage(float scale) {
+        if (imageLabel == null || originalImage == null) {
+            return; // 이미지가 없거나 아직 디코딩 중이면 할 일 없음
+        }
+        int maxWidth = 400;  // 최대 가로 크기 (px)
+        int maxHeight = 300; // 최대 세로 크기 (px)
+
+        int originalWidth = originalImage.getWidth();   // 원본 이미지 가로 크기
+        int originalHeight = originalImage.getHeight(); // 원본 이미지 세로 크기
+
+        // 스케일을 적용해 새 크기 계산
+        int newWidth = (int) (originalWidth * scale);
+        int newHeight = (int) (originalHeight * scale);
+
+        // 최대 크기 대비 가로/세로 비율 계산
+        float widthRatio = (float) maxWidth / newWidth;
+        float heightRatio = (float) maxHeight / newHeight;
+
+        // 가로, 세로 제한 중 더 엄격한 제한 적용 (1보다 클 수 없음)
+        float minRatio = Math.min(1f, Math.min(widthRatio, heightRatio));
+
+        // 최종 크기 결정 (비율 유지)
+        newWidth = (int) (newWidth * minRatio);
+        newHeight = (int) (newHeight * minRatio);
+
+        // 최소 크기 1픽셀 보장 (0 이하는 안 됨)
+        newWidth = Math.max(newWidth, 1);
+        newHeight = Math.max(newHeight, 1);
+
+        // 스케일러에서 크기 구간별로 기억해 둔 이미지를 가져옴.
+        // 처음 보는 크기면 임시 이미지를 먼저 보여주고, 고품질 이미지가 준비되면 교체
+        int request = ++imageRequest;
+        Image scaledImg = ImageScaler.shared().scale(originalImage, newWidth, newHeight, hq -> {
+            if (request == imageRequest) { // 그 사이에 또 리사이즈됐으면 예전 결과는 버림
+                imageLabel.setIcon(new ImageIcon(hq));
+            }
+        });
+        imageLabel.setIcon(new ImageIcon(scaledImg));
+    }
+
+    // 선택지 키 문자('A'~'O')별 번호 문자열 ①~⑮ (한 번만 만들어 두고 같이 씀)
+    private static final String[] CHOICE_NUMBERS = new String[AnswerSheet.MAX_KEY - AnswerSheet.MIN_KEY + 1];
+
+    static {
+        for (int i = 0; i < CHOICE_NUMBERS.length; i++) {
+            CHOICE_NUMBERS[i] = String.valueOf((char) ('\u2460' + i));
+        }
+    }
+
+    // 선택지 키 문자(A, B, C 등)를 ①, ②, ③ ... 으로 바꿔주는 헬퍼 메서드 (QuizApp 네비게이션 표시도 같이 사용)
+    static String choiceCharToNumber(char ch) {
+        int i = ch - AnswerSheet.MIN_KEY;
+        return i >= 0 && i < CHOICE_NUMBERS.length ? CHOICE_NUMBERS[i] : "";
     }
 
     // HTML 형식 문자열을 받아 JLabel을 만드는 메서드 (글씨 스타일과 크기 지정 가능)
     private JLabel makeLabel(String html, int style, int size) {
         JLabel label = new JLabel(html);                      // JLabel 생성
-        label.setFont(new Font("맑은 고딕", style, size));   // 폰트 스타일과 크기 지정
+        label.setFont(FontRegistry.get(style, size));   // 폰트 스타일과 크기 지정
         label.setAlignmentX(Component.LEFT_ALIGNMENT);       // 좌측 정렬
         return label;
     }
@@ -243,6 +293,14 @@ public class Question {
         }
     }
 
+    // 카드가 정리(evict)될 때 호출 - 버려진 화면의 버튼들을 더 이상 붙잡고 있지 않도록 비움
+    public void releasePanel() {
+        choiceButtons.clear();
+        panel = null;
+        passageView = null;
+        appliedScale = -1f;
+    }
+
     // QuizApp에서 필요하면 이 문제의 선택지 버튼 리스트를 얻을 수 있도록 getter 제공
     public List<JRadioButton> getChoiceButtons() {
         return choiceButtons;
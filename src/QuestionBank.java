@@ -0,0 +1,66 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+// 문제 묶음(문제은행)을 번호로 꺼내 쓰기 위한 공통 인터페이스
+// - 기본은 코드에 들어있는 QuestionData.QUESTIONS 배열
+// - -Dquiz.bank=파일경로 를 주면 QuestionBankCompiler로 만든 바이너리 파일을 메모리 매핑해서 사용 (.csv 면 CSV 로 읽음)
+//   (-Dquiz.watch=true 면 파일을 바꿔치기할 수 있도록 매핑하지 않고 힙에 읽음)
+// - -Dquiz.bank.pool=true 면 불러온 문제은행을 PooledQuestionBank 로 바꿔 같은 글/키 배열을 한 번만 들고 있음
+public interface QuestionBank {
+    // 문제 수
+    int size();
+
+    // index 번째 문제 (0부터 시작)
+    QuestionConfig get(int index);
+
+    // index 번째 문제의 정답 키, 선택지 키 배열(고치면 안 됨), 내용 해시 (QuestionConfig.contentHash)
+    // 답 확인, 순서표, 변경 감지처럼 문제마다 자주 부르는 곳용 - get() 이 매번 QuestionConfig 를 새로 만드는 문제은행은 바로 주도록 다시 정의
+    default char answer(int index) {
+        return get(index).answer;
+    }
+
+    default char[] keys(int index) {
+        return get(index).keys;
+    }
+
+    default long contentHash(int index) {
+        return get(index).contentHash();
+    }
+
+    // 배열을 그대로 감싼 문제은행
+    static QuestionBank of(QuestionConfig[] configs) {
+        return new QuestionBank() {
+            @Override
+            public int size() {
+                return configs.length;
+            }
+
+            @Override
+            public QuestionConfig get(int index) {
+                return configs[index];
+            }
+        };
+    }
+
+    // 설정에 맞는 문제은행 불러오기 (파일을 못 읽으면 내장 문제로 대신함)
+    static QuestionBank load() {
+        QuestionBank bank = loadSource();
+        return Boolean.getBoolean("quiz.bank.pool") ? PooledQuestionBank.of(bank) : bank;
+    }
+
+    private static QuestionBank loadSource() {
+        String path = System.getProperty("quiz.bank");
+        if (path != null && !path.isEmpty()) {
+            try {
+                if (path.endsWith(".csv")) {
+                    return of(QuestionBankCompiler.readCsv(Path.of(path)).toArray(new QuestionConfig[0]));
+                }
+                return Boolean.getBoolean("quiz.watch")
+                        ? MappedQuestionBank.load(Path.of(path)) : MappedQuestionBank.open(Path.of(path));
+            } catch (IOException e) {
+                System.err.println("문제은행 파일을 읽을 수 없습니다: " + path + " (" + e.getMessage() + ")");
+            }
+        }
+        return of(QuestionData.QUESTIONS);
+    }
+}
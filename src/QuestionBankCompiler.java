@@ -0,0 +1,219 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 문제들을 바이너리 문제은행 파일(.qbank)로 만들어 주는 도구
+// 사용법:
+//   java QuestionBankCompiler out.qbank              → 코드에 들어있는 QuestionData.QUESTIONS 를 변환
+//   java QuestionBankCompiler out.qbank source.csv   → CSV 파일을 변환
+// CSV 형식 (첫 줄은 머리글, 큰따옴표로 감싸면 쉼표/줄바꿈 포함 가능):
+//   questionText,passage,choices,keys,imagePath,answer
+//   선택지는 '|' 로 구분, keys 는 "ABCDE" 처럼 한 글자씩, imagePath 가 비어 있으면 이미지 없음
+public class QuestionBankCompiler {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("사용법: java QuestionBankCompiler <출력.qbank> [원본.csv]");
+            System.exit(1);
+        }
+        Path out = Path.of(args[0]);
+        List<QuestionConfig> configs = args.length > 1 ? readCsv(Path.of(args[1])) : List.of(QuestionData.QUESTIONS);
+
+        // 잘못된 문제가 하나라도 있으면 파일을 만들지 않음
+        QuestionBankValidator.Report report = QuestionBankValidator.validate(
+                QuestionBank.of(configs.toArray(new QuestionConfig[0])));
+        System.out.println(report);
+        if (!report.isValid()) {
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        compile(configs, out);
+        long took = System.nanoTime() - start;
+        System.out.printf("%d 문제 → %s (%d bytes, %.1f ms)%n",
+                configs.size(), out, Files.size(out), took / 1_000_000.0);
+    }
+
+    // 문제 목록을 바이너리 파일로 저장
+    // 옆에 임시 파일로 쓴 뒤 바꿔치기 (이미 매핑해서 쓰고 있는 앱은 예전 파일을 계속 보고, BankWatcher 는 새 파일을 읽음)
+    public static void compile(List<QuestionConfig> configs, Path out) throws IOException {
+        Path abs = out.toAbsolutePath();
+        Path tmp = Files.createTempFile(abs.getParent(), abs.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, toBytes(configs));
+            Files.move(tmp, abs, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // 문제 목록을 바이너리 형식 바이트 배열로 변환
+    static byte[] toBytes(List<QuestionConfig> configs) throws IOException {
+        // 1) 문자열 표 만들기 (같은 문자열은 한 번만)
+        Map<String, Integer> stringIds = new LinkedHashMap<>();
+        for (QuestionConfig cfg : configs) {
+            intern(stringIds, cfg.questionText);
+            intern(stringIds, cfg.passage);
+            if (cfg.hasImage) {
+                intern(stringIds, cfg.imagePath);
+            }
+            for (String choice : cfg.choices) {
+                intern(stringIds, choice);
+            }
+        }
+
+        // 2) 문제 레코드 (파일 내 위치는 나중에 헤더 + 인덱스 크기만큼 밀어서 계산)
+        int indexStart = QuestionBankFormat.HEADER_SIZE;
+        int recordsStart = indexStart + configs.size() * 4;
+        int[] recordOffsets = new int[configs.size()];
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream records = new DataOutputStream(recordBytes);
+        for (int i = 0; i < configs.size(); i++) {
+            QuestionConfig cfg = configs.get(i);
+            recordOffsets[i] = recordsStart + records.size();
+            records.writeInt(stringIds.get(nullToEmpty(cfg.questionText)));
+            records.writeInt(stringIds.get(nullToEmpty(cfg.passage)));
+            records.writeInt(cfg.hasImage ? stringIds.get(nullToEmpty(cfg.imagePath)) : QuestionBankFormat.NO_STRING);
+            records.writeByte(cfg.hasImage ? 1 : 0);
+            records.writeByte(cfg.answer);
+            if (cfg.choices.length > 255 || cfg.keys.length > 255) {
+                throw new IOException("선택지가 너무 많습니다: " + (i + 1) + "번 문제");
+            }
+            records.writeByte(cfg.choices.length);
+            for (String choice : cfg.choices) {
+                records.writeInt(stringIds.get(nullToEmpty(choice)));
+            }
+            // 선택지 키는 개수와 함께 그대로 기록 (선택지 수와 다르면 검증 단계에서 걸러짐)
+            records.writeByte(cfg.keys.length);
+            for (char key : cfg.keys) {
+                records.writeByte(key);
+            }
+        }
+        records.flush();
+
+        // 3) 문자열 인덱스 + 데이터
+        int stringIndexStart = recordsStart + records.size();
+        int stringDataStart = stringIndexStart + (stringIds.size() + 1) * 4;
+        ByteArrayOutputStream stringData = new ByteArrayOutputStream();
+        int[] stringOffsets = new int[stringIds.size() + 1];
+        int sid = 0;
+        for (String s : stringIds.keySet()) {
+            stringOffsets[sid++] = stringData.size();
+            stringData.write(s.getBytes(StandardCharsets.UTF_8));
+        }
+        stringOffsets[sid] = stringData.size();
+
+        // 4) 순서대로 이어 붙이기
+        ByteArrayOutputStream fileBytes = new ByteArrayOutputStream(stringDataStart + stringData.size());
+        DataOutputStream file = new DataOutputStream(fileBytes);
+        file.writeInt(QuestionBankFormat.MAGIC);
+        file.writeInt(QuestionBankFormat.VERSION);
+        file.writeInt(configs.size());
+        file.writeInt(stringIds.size());
+        file.writeInt(indexStart);
+        file.writeInt(stringIndexStart);
+        file.writeInt(stringDataStart);
+        file.writeInt(0);
+        for (int offset : recordOffsets) {
+            file.writeInt(offset);
+        }
+        recordBytes.writeTo(file);
+        for (int offset : stringOffsets) {
+            file.writeInt(offset);
+        }
+        stringData.writeTo(file);
+        file.flush();
+        return fileBytes.toByteArray();
+    }
+
+    private static void intern(Map<String, Integer> ids, String s) {
+        ids.putIfAbsent(nullToEmpty(s), ids.size());
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+
+    // CSV 파일을 읽어서 QuestionConfig 목록으로 변환
+    public static List<QuestionConfig> readCsv(Path csv) throws IOException {
+        List<List<String>> rows = parseCsv(Files.readString(csv, StandardCharsets.UTF_8));
+        List<QuestionConfig> configs = new ArrayList<>();
+        for (int r = 0; r < rows.size(); r++) {
+            List<String> row = rows.get(r);
+            if (r == 0 && !row.isEmpty() && row.get(0).equals("questionText")) {
+                continue; // 머리글 줄
+            }
+            if (row.size() == 1 && row.get(0).isEmpty()) {
+                continue; // 빈 줄
+            }
+            if (row.size() != 6) {
+                throw new IOException(csv + " " + (r + 1) + "번째 줄: 칸이 6개여야 합니다 (" + row.size() + "개)");
+            }
+            String[] choices = row.get(2).split("\\|", -1);
+            char[] keys = row.get(3).toCharArray();
+            String imagePath = row.get(4);
+            String answer = row.get(5);
+            configs.add(new QuestionConfig(
+                    row.get(0),
+                    row.get(1),
+                    choices,
+                    keys,
+                    !imagePath.isEmpty(),
+                    imagePath,
+                    answer.isEmpty() ? '\u0000' : answer.charAt(0)
+            ));
+        }
+        return configs;
+    }
+
+    // 간단한 CSV 파서 (큰따옴표 안의 쉼표/줄바꿈, "" 이스케이프 지원)
+    static List<List<String>> parseCsv(String text) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else {
+                field.append(ch);
+            }
+        }
+        if (field.length() > 0 || !row.isEmpty()) {
+            row.add(field.toString());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,26 @@
+// 바이너리 문제은행 파일(.qbank)의 구조 정의 (QuestionBankCompiler가 쓰고 MappedQuestionBank가 읽음)
+//
+// [헤더 32바이트]
+//   int  MAGIC ("QBNK")
+//   int  VERSION
+//   int  문제 수 (questionCount)
+//   int  문자열 수 (stringCount)
+//   int  문제 인덱스 시작 위치
+//   int  문자열 인덱스 시작 위치
+//   int  문자열 데이터 시작 위치
+//   int  예비 (0)
+// [문제 인덱스]     questionCount 개의 int - 각 문제 레코드의 파일 내 위치
+// [문제 레코드]     int 제목 문자열ID, int 본문 문자열ID, int 이미지경로 문자열ID(-1이면 없음),
+//                   byte 이미지 유무, byte 정답 키, byte 선택지 수(n),
+//                   n 개의 int 선택지 문자열ID, byte 선택지 키 수(k), k 개의 byte 선택지 키
+// [문자열 인덱스]   stringCount + 1 개의 int - 문자열 데이터 안에서의 시작 위치 (마지막은 끝 위치)
+// [문자열 데이터]   UTF-8 바이트들 (같은 문자열은 한 번만 저장)
+final class QuestionBankFormat {
+    static final int MAGIC = 0x51424E4B; // "QBNK"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int NO_STRING = -1;
+
+    private QuestionBankFormat() {
+    }
+}
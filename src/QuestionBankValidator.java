@@ -0,0 +1,173 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// 시험 시작 전에 문제은행 전체를 한 번 훑어서 잘못된 문제를 찾아내는 검사기
+// - 선택지 수와 키 수가 같은지, 키가 겹치지 않고 답안지에 저장 가능한 범위('A'~'O')인지
+// - 정답 키가 선택지 키 안에 있는지
+// - 이미지가 있다고 되어 있으면 실제 리소스 파일이 있는지
+// - 제목/본문/선택지의 HTML 태그가 제대로 열리고 닫히는지
+// 문제가 많으면 여러 스레드로 나눠서 검사하고, 발견한 오류를 한꺼번에 보고한다.
+public class QuestionBankValidator {
+    // 이 개수 이상이면 병렬로 검사
+    static final int PARALLEL_THRESHOLD = Integer.getInteger("quiz.validate.parallelThreshold", 256);
+
+    // 닫는 태그가 없어도 되는 HTML 태그
+    private static final Set<String> VOID_TAGS = Set.of("br", "hr", "img", "input", "meta", "link", "p");
+
+    // 오류 하나 (index 는 0부터 시작하는 문제 번호)
+    public record Violation(int index, String rule, String message) {
+        @Override
+        public String toString() {
+            return "Q" + (index + 1) + " [" + rule + "] " + message;
+        }
+    }
+
+    // 검사 결과
+    public record Report(int questionCount, List<Violation> violations, long nanos) {
+        public boolean isValid() {
+            return violations.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "%d 문제 검사, 오류 %d건 (%.2f ms)",
+                    questionCount, violations.size(), nanos / 1_000_000.0));
+            for (Violation v : violations) {
+                sb.append('\n').append(v);
+            }
+            return sb.toString();
+        }
+    }
+
+    // 문제은행 전체 검사
+    public static Report validate(QuestionBank bank) {
+        long start = System.nanoTime();
+        IntStream indexes = IntStream.range(0, bank.size());
+        if (bank.size() >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        List<Violation> violations = indexes
+                .mapToObj(i -> validate(i, bank.get(i)))
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingInt(Violation::index))
+                .collect(Collectors.toList());
+        return new Report(bank.size(), violations, System.nanoTime() - start);
+    }
+
+    // 문제 하나 검사
+    static List<Violation> validate(int index, QuestionConfig cfg) {
+        List<Violation> out = new ArrayList<>(0);
+        if (cfg == null) {
+            out.add(new Violation(index, "missing", "문제 데이터가 없습니다"));
+            return out;
+        }
+        if (cfg.questionText == null || cfg.questionText.isBlank()) {
+            out.add(new Violation(index, "text", "문제 제목이 비어 있습니다"));
+        }
+
+        // 선택지/키 개수
+        int choiceCount = cfg.choices == null ? 0 : cfg.choices.length;
+        int keyCount = cfg.keys == null ? 0 : cfg.keys.length;
+        if (choiceCount == 0) {
+            out.add(new Violation(index, "arity", "선택지가 없습니다"));
+        }
+        if (choiceCount != keyCount) {
+            out.add(new Violation(index, "arity",
+                    "선택지 수(" + choiceCount + ")와 키 수(" + keyCount + ")가 다릅니다"));
+        }
+
+        // 키 중복, 정답 키 포함 여부
+        boolean answerFound = false;
+        for (int i = 0; i < keyCount; i++) {
+            char key = cfg.keys[i];
+            for (int j = 0; j < i; j++) {
+                if (cfg.keys[j] == key) {
+                    out.add(new Violation(index, "keys", "선택지 키 '" + key + "'가 중복됩니다"));
+                    break;
+                }
+            }
+            if (key < AnswerSheet.MIN_KEY || key > AnswerSheet.MAX_KEY) {
+                out.add(new Violation(index, "keys",
+                        "선택지 키 '" + key + "'는 " + AnswerSheet.MIN_KEY + "~" + AnswerSheet.MAX_KEY + " 범위여야 합니다"));
+            }
+            if (key == cfg.answer) {
+                answerFound = true;
+            }
+        }
+        if (!answerFound) {
+            out.add(new Violation(index, "answer",
+                    "정답 키 '" + (cfg.answer == '\u0000' ? "(없음)" : String.valueOf(cfg.answer)) + "'가 선택지 키에 없습니다"));
+        }
+
+        // 이미지 리소스
+        if (cfg.hasImage) {
+            if (cfg.imagePath == null || cfg.imagePath.isEmpty()) {
+                out.add(new Violation(index, "image", "이미지가 있다고 되어 있지만 경로가 비어 있습니다"));
+            } else if (ImageCache.resolve(cfg.imagePath) == null) {
+                out.add(new Violation(index, "image", "이미지를 찾을 수 없습니다: " + cfg.imagePath));
+            }
+        }
+
+        // HTML 태그 짝 맞춤
+        checkHtml(index, "제목", cfg.questionText, out);
+        checkHtml(index, "본문", cfg.passage, out);
+        for (int i = 0; i < choiceCount; i++) {
+            checkHtml(index, "선택지 " + (i + 1), cfg.choices[i], out);
+        }
+        return out;
+    }
+
+    // 간단한 HTML 태그 짝 검사 (<u>...</u> 처럼 여는 태그와 닫는 태그가 맞는지)
+    static void checkHtml(int index, String where, String html, List<Violation> out) {
+        if (html == null || html.indexOf('<') < 0) {
+            return;
+        }
+        Deque<String> open = new ArrayDeque<>();
+        int i = 0;
+        while ((i = html.indexOf('<', i)) >= 0) {
+            int end = html.indexOf('>', i);
+            if (end < 0) {
+                out.add(new Violation(index, "html", where + ": '<' 뒤에 '>'가 없습니다"));
+                return;
+            }
+            String tag = html.substring(i + 1, end).trim();
+            i = end + 1;
+            if (tag.isEmpty() || tag.startsWith("!")) {
+                continue;
+            }
+            boolean closing = tag.startsWith("/");
+            boolean selfClosing = tag.endsWith("/");
+            String name = tagName(closing ? tag.substring(1) : tag);
+            if (selfClosing || VOID_TAGS.contains(name)) {
+                continue;
+            }
+            if (!closing) {
+                open.push(name);
+            } else if (open.isEmpty() || !open.peek().equals(name)) {
+                out.add(new Violation(index, "html", where + ": 짝이 맞지 않는 닫는 태그 </" + name + ">"));
+                return;
+            } else {
+                open.pop();
+            }
+        }
+        if (!open.isEmpty()) {
+            out.add(new Violation(index, "html", where + ": 닫히지 않은 태그 <" + open.peek() + ">"));
+        }
+    }
+
+    private static String tagName(String tag) {
+        int end = 0;
+        while (end < tag.length() && Character.isLetterOrDigit(tag.charAt(end))) {
+            end++;
+        }
+        return tag.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
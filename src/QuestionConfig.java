@@ -16,4 +16,27 @@ public class QuestionConfig {
         this.imagePath = imagePath;
         this.answer = answer;
     }
+
+    // 문제 내용 전체의 64비트 해시 (문제가 바뀌었는지 비교용, 같은 내용이면 항상 같은 값)
+    public long contentHash() {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, questionText);
+        h = mix(h, passage);
+        for (int i = 0; choices != null && i < choices.length; i++) {
+            h = mix(h, choices[i]);
+        }
+        h = mix(h, keys == null ? null : new String(keys));
+        h = mix(h, hasImage ? imagePath : null);
+        return (h ^ answer) * 0x100000001b3L;
+    }
+
+    private static long mix(long h, String s) {
+        if (s == null) {
+            return (h ^ 0xFFFF) * 0x100000001b3L;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * 0x100000001b3L;
+        }
+        return (h ^ 0xFFFE) * 0x100000001b3L;   // 필드 경계 표시
+    }
 }
@@ -0,0 +1,164 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.IntConsumer;
+
+// 오른쪽 사이드바의 문제 목록 (문제 번호 + 고른 답)
+// - 문제마다 버튼/라벨 컴포넌트를 만들지 않고 JList 하나가 셀 렌더러로 보이는 칸만 그린다.
+//   (문제가 100개, 1000개여도 컴포넌트 수는 그대로)
+// - 세로로 채우다가 창 높이가 모자라면 다음 열로 넘어감 (VERTICAL_WRAP, 열 수는 창 높이에 맞춰 자동)
+// - 답이 바뀌면 그 칸만 다시 그림 (answerChanged → 목록 모델이 그 칸만 변경 알림)
+// - "안 푼 문제로" 버튼: 지금 문제 다음의 안 푼 문제로 이동
+@SuppressWarnings("serial")
+public class QuestionNavigator extends JPanel {
+    static final int CELL_WIDTH = 84;
+    static final int CELL_HEIGHT = 34;
+    static final Color SELECTED = new Color(0xDCE8F8);  // 지금 보고 있는 문제 칸 배경
+
+    private final AnswerSheet sheet;
+    private final NavModel model;
+    private final JList<Integer> list;
+    private final IntConsumer onSelect;   // 문제를 고르면 호출 (QuizApp.showQuestion)
+    private boolean syncing;              // 코드에서 선택을 바꾸는 중 (선택 이벤트로 다시 이동하지 않도록)
+
+    // 목록 모델 - 칸 i 의 값은 문제 번호 i (내용은 렌더러가 답안지에서 직접 읽음)
+    @SuppressWarnings("serial")
+    private static final class NavModel extends AbstractListModel<Integer> {
+        private final int size;
+
+        NavModel(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public Integer getElementAt(int index) {
+            return index;
+        }
+
+        void changed(int index) {
+            fireContentsChanged(this, index, index);
+        }
+    }
+
+    public QuestionNavigator(AnswerSheet sheet, IntConsumer onSelect) {
+        super(new BorderLayout(0, 6));
+        this.sheet = sheet;
+        this.onSelect = onSelect;
+        this.model = new NavModel(sheet.size());
+
+        list = new JList<>(model);
+        list.setLayoutOrientation(JList.VERTICAL_WRAP);
+        list.setVisibleRowCount(-1);                 // 높이에 맞춰 한 열에 들어가는 칸 수 결정
+        list.setFixedCellWidth(CELL_WIDTH);          // 칸 크기를 고정해서 칸마다 크기 계산을 하지 않음
+        list.setFixedCellHeight(CELL_HEIGHT);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setCellRenderer(new CellRenderer());
+        list.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting() && !syncing && list.getSelectedIndex() >= 0) {
+                onSelect.accept(list.getSelectedIndex());
+            }
+        });
+
+        JScrollPane scroll = new JScrollPane(list,
+                ScrollPaneConstants.VERTICAL_SCROLLBAR_NEVER, ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+        scroll.setBorder(BorderFactory.createEmptyBorder());
+        // 처음 창 너비는 두 열 정도 (문제가 적으면 한 열)
+        int columns = sheet.size() > 10 ? 2 : 1;
+        scroll.setPreferredSize(new Dimension(columns * CELL_WIDTH + 8, 10 * CELL_HEIGHT));
+        add(scroll, BorderLayout.CENTER);
+
+        JButton jump = new JButton("안 푼 문제로");
+        jump.setFont(FontRegistry.get(Font.PLAIN, 14));
+        jump.addActionListener(e -> jumpToUnanswered());
+        add(jump, BorderLayout.NORTH);
+    }
+
+    // index 번 문제의 답이 바뀜 - 그 칸만 다시 그림
+    public void answerChanged(int index) {
+        model.changed(index);
+    }
+
+    // 화면에 보이는 문제가 바뀜 - 목록 선택과 스크롤 위치를 맞춤
+    public void setCurrent(int index) {
+        if (list.getSelectedIndex() == index) {
+            return;
+        }
+        syncing = true;
+        try {
+            list.setSelectedIndex(index);
+            list.ensureIndexIsVisible(index);
+        } finally {
+            syncing = false;
+        }
+    }
+
+    // 지금 문제 다음의 안 푼 문제로 이동 (없으면 알림)
+    public void jumpToUnanswered() {
+        int next = sheet.nextUnanswered(list.getSelectedIndex() + 1);
+        if (next < 0) {
+            JOptionPane.showMessageDialog(this, "모든 문제에 답했습니다.", "알림", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        onSelect.accept(next);
+    }
+
+    // 칸 하나를 그리는 렌더러 (컴포넌트 하나를 모든 칸이 돌려 씀)
+    // 왼쪽에 "Q번호", 오른쪽 네모 칸에 고른 답(①~⑤)
+    @SuppressWarnings("serial")
+    private final class CellRenderer extends JComponent implements ListCellRenderer<Integer> {
+        private final Font numberFont = FontRegistry.get(Font.BOLD, 15);
+        private final Font answerFont = FontRegistry.get(Font.PLAIN, 18);
+        private int index;
+        private boolean selected;
+
+        CellRenderer() {
+            setOpaque(true);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Integer> l, Integer value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            this.index = value;
+            this.selected = isSelected;
+            return this;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            int w = getWidth();
+            int h = getHeight();
+            g2.setColor(selected ? SELECTED : list.getBackground());
+            g2.fillRect(0, 0, w, h);
+
+            char answer = sheet.get(index);
+
+            // 문제 번호
+            g2.setFont(numberFont);
+            FontMetrics fm = g2.getFontMetrics();
+            g2.setColor(answer == '\u0000' ? Color.DARK_GRAY : Color.BLACK);
+            g2.drawString("Q" + (index + 1), 6, (h - fm.getHeight()) / 2 + fm.getAscent());
+
+            // 답 표시 칸 (흰 배경 + 회색 테두리)
+            int box = 24;
+            int bx = w - box - 8;
+            int by = (h - box) / 2;
+            g2.setColor(Color.WHITE);
+            g2.fillRect(bx, by, box, box);
+            g2.setColor(Color.GRAY);
+            g2.drawRect(bx, by, box - 1, box - 1);
+            if (answer != '\u0000') {
+                String text = Question.choiceCharToNumber(answer);
+                g2.setFont(answerFont);
+                FontMetrics afm = g2.getFontMetrics();
+                g2.setColor(Color.BLACK);
+                g2.drawString(text, bx + (box - afm.stringWidth(text)) / 2, by + (box - afm.getHeight()) / 2 + afm.getAscent());
+            }
+        }
+    }
+}
@@ -1,28 +1,79 @@
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 // 퀴즈 앱 메인 클래스
 public class QuizApp {
     JFrame frame;                    // 메인 윈도우 프레임 (전체 창)
     JPanel mainPanel;                // 문제들을 카드처럼 넘기는 메인 패널 (문제 화면)
     CardLayout cardLayout;           // 문제 전환용 카드 레이아웃 (문제 이동할 때 씀)
-    JPanel navPanel;                 // 문제 목록 + 답 표시 패널 (오른쪽 사이드바)
-    JButton[] navButtons;            // 문제 번호 버튼 배열 (Q1, Q2, ...)
-    JLabel[] answerLabels;           // 각 문제별로 사용자가 고른 답 보여주는 라벨 배열
-
-    static char[] userAnswers;       // 사용자가 고른 답 저장 배열 (문제 수 크기)
-    private boolean submitted = false;      // 답 제출 여부 체크 (제출 완료하면 true)
-    private List<Question> questions = new ArrayList<>(); // Question 객체 리스트 (문제 UI, 기능)
+    CardDeck cardDeck;               // 문제 카드를 필요할 때 만들어 주는 관리 객체
+    RescaleScheduler rescaler;       // 창 크기 변경 시 배율 조절을 모아서 처리하는 관리 객체
+    EdtWatchdog watchdog;            // EDT 멈춤 감시 (켜져 있을 때만, 아니면 null)
+    StartupSequencer startup;        // 단계별 시작 (나머지 카드 나눠 붙이기, 첫 화면/사용 가능 시각 측정)
+    JPanel navPanel;                 // 문제 목록 + 제출 버튼 패널 (오른쪽 사이드바)
+    QuestionNavigator navigator;     // 문제 번호 + 고른 답 목록 (보이는 칸만 그리는 목록)
+
+    private QuestionBank bank;       // 문제 데이터 (문제은행)
+    private final ExamSession session;     // 이 창의 시험 세션 (답안지, 제출 여부, 채점 결과)
+    private final Question[] questions;    // 화면 위치별 Question (문제 UI, 기능) - 처음 필요할 때 만듦, 아직이면 null
+    private AnswerJournal journal;   // 답 선택 기록 파일 (프로그램이 죽어도 다시 켜면 복구), 못 열었거나 여는 중이면 null
+    private BitSet chosenBeforeJournal = new BitSet();  // 저널을 여는 동안 응시자가 바꾼 문제 (복구한 답으로 덮어쓰지 않게, 연 뒤에는 null)
 
     private JButton submitButton;   // 답안 제출 버튼
+    private BankWatcher bankWatcher; // 문제은행 파일 감시 (-Dquiz.watch=true 일 때만, 아니면 null)
+
+    private static final Pattern TITLE_NUMBER = Pattern.compile("Q\\d+\\.");  // 문제 제목 앞의 번호
+
+    // 생성자 - 앱 초기화, UI 구성 (bank: 검사를 통과한 문제은행, EDT 에서 호출)
+    // 미리 데우기는 다른 준비보다 먼저 시작 (인자를 먼저 계산하므로 this(...) 보다 앞)
+    public QuizApp(QuestionBank bank) {
+        this(bank, StartupSequencer.start());
+    }
+
+    private QuizApp(QuestionBank bank, StartupSequencer startup) {
+        this(bank, prepare(bank, startup), startup);
+    }
+
+    // 시험 세션 준비 (문제/선택지 순서표 + 정답 키, 문제 수에 비례) + 화면 순서대로 앞쪽 이미지 디코딩 시작
+    // main 에서는 EDT 로 넘기기 전에 main 스레드에서 부름
+    // -Dquiz.candidate=응시자ID 를 주면 그 ID 로 문제 순서와 선택지 순서를 섞음 (같은 ID 면 항상 같은 순서)
+    static ExamSession prepare(QuestionBank bank, StartupSequencer startup) {
+        QuizEvents.StartupPhase phase = QuizEvents.beginStartupPhase();
+        String candidate = System.getProperty("quiz.candidate", "");
+        ExamVariant variant = candidate.isEmpty() ? null : ExamVariant.layout(bank).variant(candidate);
+        startup.prewarmImages(bank, variant);
+        // 시험 세션 생성 - 문제 수만큼 답 저장 공간 생성 (처음엔 모두 안 푼 상태)
+        ExamSession session = new ExamSession(candidate.isEmpty() ? "local" : candidate, GradingEngine.answerKey(bank), variant);
+        QuizEvents.startupPhase(phase, "prepare");
+        return session;
+    }
 
-    // 생성자 - 앱 초기화, UI 구성
-    public QuizApp() {
-        // 문제 데이터 가져오기 (QuestionData에 저장된 문제들)
-        QuestionConfig[] configs = QuestionData.QUESTIONS;
-        userAnswers = new char[configs.length]; // 문제 수만큼 답 저장 공간 생성 (초기값 '\u0000')
+    // main 에서 미리 데우기와 세션 준비를 먼저 해 둔 경우 (EDT 에서 호출)
+    // EDT 에서는 프레임 + 첫 카드 + 문제 목록만 만들고, 답 복구와 파일 감시 준비는 백그라운드에서
+    QuizApp(QuestionBank bank, ExamSession session, StartupSequencer startup) {
+        this.bank = bank;
+        this.session = session;
+        this.startup = startup;
+        this.questions = new Question[bank.size()];
+        // 답이 바뀌면 네비게이션 답 표시 갱신 (EDT 밖에서 바뀌면 EDT로 넘겨서 처리)
+        session.getAnswerSheet().addListener((sheet, index, oldKey, newKey) -> {
+            if (SwingUtilities.isEventDispatchThread()) {
+                if (chosenBeforeJournal != null) {
+                    chosenBeforeJournal.set(index);
+                }
+                updateAnswerLabel(index);
+            } else {
+                SwingUtilities.invokeLater(() -> updateAnswerLabel(index));
+            }
+        });
 
         // JFrame 기본 세팅
         frame = new JFrame("세계사 모의고사");
@@ -31,118 +82,196 @@ public class QuizApp {
         frame.setLayout(new BorderLayout());  // 동서남북 중앙 배치 가능
 
         cardLayout = new CardLayout();          // 카드 레이아웃 생성
-        mainPanel = new JPanel(cardLayout);     // 문제 화면용 패널에 카드 레이아웃 적용
-
-        navPanel = new JPanel();
-        navPanel.setLayout(new BoxLayout(navPanel, BoxLayout.X_AXIS)); // 왼쪽, 오른쪽 컬럼 나란히 배치
-
-        // 왼쪽, 오른쪽 문제 버튼 컬럼 패널
-        JPanel leftColumn = new JPanel();
-        leftColumn.setLayout(new BoxLayout(leftColumn, BoxLayout.Y_AXIS));
-        leftColumn.setAlignmentY(Component.TOP_ALIGNMENT);
-
-        JPanel rightColumn = new JPanel();
-        rightColumn.setLayout(new BoxLayout(rightColumn, BoxLayout.Y_AXIS));
-        rightColumn.setAlignmentY(Component.TOP_ALIGNMENT);
-
-        navButtons = new JButton[configs.length];
-        answerLabels = new JLabel[configs.length];
-
-        // 문제 수만큼 UI 컴포넌트 생성 반복
-        for (int i = 0; i < configs.length; i++) {
-            int index = i;   // 람다 내부용 final 변수
-
-            QuestionConfig cfg = configs[i];
-
-            // Question 객체 생성 (문제 내용, 이미지, 선택지 등)
-            Question q = new Question(this, i, cfg.questionText, cfg.passage, cfg.choices, cfg.keys, cfg.hasImage ? cfg.imagePath : "");
-            questions.add(q); // 리스트에 저장해 나중에 disable 처리 가능
-
-            // 문제 카드 패널 생성 후 메인 패널에 등록
-            mainPanel.add(q.createPanel(), "Q" + i);
-
-            // 문제 번호 버튼 생성
-            navButtons[i] = new JButton("Q" + (i + 1));
-            navButtons[i].setFont(new Font("맑은 고딕", Font.BOLD, 15));
-            navButtons[i].setMaximumSize(new Dimension(80, 40)); // 최대 크기 제한
-            navButtons[i].setAlignmentX(Component.CENTER_ALIGNMENT);
-            navButtons[i].setMargin(new Insets(2, 5, 2, 5)); // 버튼 안쪽 여백
-
-            // 클릭 시 해당 문제 카드로 이동
-            navButtons[i].addActionListener(e -> cardLayout.show(mainPanel, "Q" + index));
-
-            // 답 표시 라벨 생성 (아직 선택 안 했으니 빈칸)
-            answerLabels[i] = new JLabel("");
-            answerLabels[i].setFont(new Font("맑은 고딕", Font.PLAIN, 18));
-            answerLabels[i].setPreferredSize(new Dimension(24, 24)); // 크기 지정
-            answerLabels[i].setMaximumSize(new Dimension(24, 24));
-            answerLabels[i].setHorizontalAlignment(SwingConstants.CENTER);
-            answerLabels[i].setVerticalAlignment(SwingConstants.CENTER);
-            answerLabels[i].setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createLineBorder(Color.GRAY),
-                    BorderFactory.createEmptyBorder(2, 2, 2, 2)
-            )); // 테두리 스타일
-            answerLabels[i].setOpaque(true);
-            answerLabels[i].setBackground(Color.WHITE); // 배경 하얀색
-
-            // 문제 번호 버튼과 답 라벨을 한 줄에 배치할 패널 생성
-            JPanel navRow = new JPanel();
-            navRow.setLayout(new BoxLayout(navRow, BoxLayout.X_AXIS));
-            navRow.setAlignmentX(Component.LEFT_ALIGNMENT);
-            navRow.setMaximumSize(new Dimension(150, 40));
-
-            navRow.add(navButtons[i]);
-            navRow.add(Box.createHorizontalStrut(4)); // 버튼과 라벨 사이 간격 띄우기
-            navRow.add(answerLabels[i]);
-
-            // 1~10번 문제는 왼쪽 컬럼에, 11번부터는 오른쪽 컬럼에 추가
-            if (i < 10) {
-                leftColumn.add(navRow);
-            } else {
-                rightColumn.add(navRow);
+        mainPanel = new JPanel(cardLayout) {    // 문제 화면용 패널에 카드 레이아웃 적용
+            @Override
+            protected void paintChildren(Graphics g) {
+                super.paintChildren(g);
+                startup.painted();              // 첫 카드가 처음 그려진 시각 기록
+            }
+        };
+
+        // 문제 목록 (번호를 누르면 해당 문제 카드로 이동, 아직 안 만들어진 카드면 이때 생성)
+        navigator = new QuestionNavigator(session.getAnswerSheet(), this::showQuestion);
+
+        // 문제 카드 패널은 CardDeck이 필요할 때 만들어서 메인 패널 슬롯에 채움
+        // (Question 도 카드를 만들 때 처음 만들고, 슬롯은 첫 카드 주변만 먼저 붙이고 나머지는 화면이 뜬 뒤 StartupSequencer 가 나눠서 붙임)
+        List<Question> cards = new AbstractList<>() {
+            @Override
+            public Question get(int index) {
+                return question(index);
             }
+
+            @Override
+            public int size() {
+                return questions.length;
+            }
+        };
+        cardDeck = new CardDeck(mainPanel, cardLayout, cards);
+        rescaler = new RescaleScheduler(mainPanel, cards, cardDeck);
+        // -Dquiz.watchdog=true 면 EDT 가 막히는 곳을 감시 (보이는 카드 번호와 함께 기록)
+        if (EdtWatchdog.ENABLED) {
+            watchdog = EdtWatchdog.start(cardDeck::getCurrent);
         }
+        showQuestion(0); // 첫 문제 (+ 미리 보기 범위) 만 생성
 
         // 제출 버튼 생성
         submitButton = new JButton("답안 제출");
-        submitButton.setFont(new Font("맑은 고딕", Font.BOLD, 18));
-        submitButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        submitButton.setMaximumSize(new Dimension(150, 50));
+        submitButton.setFont(FontRegistry.get(Font.BOLD, 18));
         submitButton.addActionListener(e -> onSubmit()); // 클릭 시 onSubmit() 호출
 
-        // 제출 버튼 왼쪽 컬럼 맨 아래에 배치
-        JPanel leftSubmitPanel = new JPanel();
-        leftSubmitPanel.setLayout(new BoxLayout(leftSubmitPanel, BoxLayout.Y_AXIS));
-        leftSubmitPanel.add(Box.createVerticalStrut(10));
-        leftSubmitPanel.add(submitButton);
-        leftSubmitPanel.add(Box.createVerticalStrut(10));
-        leftColumn.add(leftSubmitPanel);
-
-        // navPanel에 왼쪽, 오른쪽 컬럼 나란히 추가
-        navPanel.add(leftColumn);
-        navPanel.add(Box.createHorizontalStrut(10)); // 컬럼 사이 간격
-        navPanel.add(rightColumn);
+        // 사이드바: 문제 목록 + 맨 아래 제출 버튼
+        navPanel = new JPanel(new BorderLayout(0, 10));
+        navPanel.setBorder(BorderFactory.createEmptyBorder(10, 6, 10, 6));
+        navPanel.add(navigator, BorderLayout.CENTER);
+        navPanel.add(submitButton, BorderLayout.SOUTH);
 
         // 프레임에 메인 문제 영역과 네비게이션 영역 붙이기
         frame.add(mainPanel, BorderLayout.CENTER);
         frame.add(navPanel, BorderLayout.EAST);
 
         frame.setVisible(true); // 화면 보이기
+
+        // 첫 문제가 실제로 그려질 수 있게 된 시점 (main 시작부터, EDT 에 쌓인 작업이 끝난 뒤)
+        SwingUtilities.invokeLater(startup::visible);
+        startup.attachRemaining(cardDeck);
+
+        // 지난번에 끝나지 않은 시험의 답 복구 + 문제은행 파일 감시 시작 (파일 I/O, 문제 수에 비례 → 백그라운드)
+        Thread background = new Thread(this::startBackground, "quiz-startup");
+        background.setDaemon(true);
+        background.start();
+    }
+
+    // 화면 위치 i 의 Question (처음 부를 때 만듦, EDT)
+    // i 는 화면 위치, 섞는 경우 보여줄 문제는 문제은행의 variant.bankIndex(i) 번 (QuestionConfig 는 복사하지 않음)
+    private Question question(int i) {
+        Question q = questions[i];
+        if (q == null) {
+            ExamVariant variant = session.getVariant();
+            int b = variant == null ? i : variant.bankIndex(i);
+            QuizEvents.QuestionConstruct event = QuizEvents.beginQuestionConstruct();
+            q = newQuestion(i, b, bank.get(b));
+            QuizEvents.questionConstructed(event, i);
+            questions[i] = q;
+        }
+        return q;
+    }
+
+    // 백그라운드 준비 (quiz-startup 스레드)
+    private void startBackground() {
+        // 답 복구 - 파일은 여기서 읽고, 답안지에 적용 + 기록 시작은 EDT 에서 한 번에 (답안지를 쓰는 스레드는 EDT 하나)
+        // 복구한 답은 답안지 리스너로 문제 목록에 표시되고, 이미 만들어진 카드는 다시 만듦
+        QuizEvents.StartupPhase phase = QuizEvents.beginStartupPhase();
+        AnswerJournal opened = openJournal();
+        QuizEvents.startupPhase(phase, "journal");
+        SwingUtilities.invokeLater(() -> {
+            BitSet chosen = chosenBeforeJournal;
+            chosenBeforeJournal = null;
+            if (opened == null) {
+                return;
+            }
+            if (session.isSubmitted()) {
+                opened.discard();   // 복구 중에 제출까지 끝남
+                return;
+            }
+            // 그동안 응시자가 고른 답은 그대로 두고 저널에 기록, 나머지 문제만 복구
+            int restored = opened.attach(chosen);
+            journal = opened;
+            if (restored > 0) {
+                System.out.printf("이전 답안 %d개 복구 (파일 읽기 %.2f ms)%n", restored, opened.getReplayMillis());
+                // 이미 만들어진 카드(첫 카드 주변)는 복구한 답이 보이도록 같은 슬롯 안에서 다시 만듦
+                for (int i = 0; i < questions.length; i++) {
+                    if (questions[i] != null && cardDeck.isBuilt(i)) {
+                        cardDeck.replace(i, questions[i]);
+                        rescaler.applyTo(i);
+                    }
+                }
+            }
+        });
+
+        // -Dquiz.watch=true 면 -Dquiz.bank 파일이 바뀔 때 바뀐 문제 카드만 다시 만듦
+        String path = System.getProperty("quiz.bank", "");
+        if (Boolean.getBoolean("quiz.watch") && !path.isEmpty()) {
+            try {
+                bankWatcher = BankWatcher.start(Path.of(path), bank, this::canApply, this::applyReload);
+            } catch (IOException e) {
+                System.err.println("문제은행 파일을 감시할 수 없습니다: " + path + " (" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    // 화면 위치 i 에 문제은행 b 번 문제를 보여줄 Question 생성
+    // 섞은 경우 제목 앞의 문제은행 번호("Q12.")는 화면 번호로 바꿈 (문제 목록 번호와 같게)
+    private Question newQuestion(int i, int b, QuestionConfig cfg) {
+        ExamVariant variant = session.getVariant();
+        String imagePath = cfg.hasImage ? cfg.imagePath : "";
+        if (variant == null) {
+            return new Question(session, i, cfg.questionText, cfg.passage, cfg.choices, cfg.keys, imagePath);
+        }
+        Matcher number = TITLE_NUMBER.matcher(cfg.questionText);
+        String title = number.lookingAt() ? "Q" + (i + 1) + "." + cfg.questionText.substring(number.end()) : cfg.questionText;
+        return new Question(session, i, title, cfg.passage, cfg.choices, cfg.keys, imagePath,
+                variant.choiceOrder(), variant.choiceOffset(b));
+    }
+
+    // 바뀐 문제를 다시 시작하지 않고 반영할 수 있는지 (BankWatcher 감시 스레드에서 부름)
+    // 섞은 시험은 선택지 순서표와 정답 변환표를 시작할 때 만들어 두므로 글자만 바뀐 경우만 반영
+    private boolean canApply(QuestionConfig before, QuestionConfig cfg) {
+        return session.getVariant() == null || (before.answer == cfg.answer
+                && before.choices.length == cfg.choices.length && Arrays.equals(before.keys, cfg.keys));
+    }
+
+    // 문제은행 파일이 바뀌었을 때 (BankWatcher, EDT) - 바뀐 문제만 Question 을 새로 만들고
+    // 만들어져 있던 카드는 같은 CardLayout 슬롯 안에서 내용물만 바꿈 (고른 답, 보고 있던 카드, 문제 목록은 그대로)
+    private void applyReload(BankWatcher.Change change) {
+        long start = System.nanoTime();
+        if (change.sizeChanged()) {
+            System.err.printf("문제 수가 바뀌었습니다 (%d → %d). 다시 시작해야 반영됩니다.%n", bank.size(), change.bank().size());
+            return;
+        }
+        ExamVariant variant = session.getVariant();
+        int[] positions = null;     // 문제은행 번호 → 화면 위치 (섞은 경우만)
+        if (variant != null) {
+            positions = new int[variant.size()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[variant.bankIndex(i)] = i;
+            }
+        }
+        for (int b : change.skipped()) {
+            System.err.printf("%d번 문제는 선택지/정답이 바뀌어 다시 시작해야 반영됩니다.%n", b + 1);
+        }
+        int applied = 0;
+        for (int b : change.changed()) {
+            QuestionConfig before = bank.get(b);
+            QuestionConfig cfg = change.bank().get(b);
+            if (before.answer != cfg.answer) {
+                session.updateAnswerKey(b, cfg.answer);
+            }
+            int i = positions == null ? b : positions[b];
+            Question old = questions[i];
+            if (old != null) {      // 아직 안 만든 Question 은 나중에 새 문제은행으로 만들어짐
+                questions[i] = newQuestion(i, b, cfg);
+                cardDeck.replace(i, old);
+            }
+            rescaler.applyTo(i);    // 다시 만든 카드에 지금 배율 적용 (안 만들어진 카드는 보일 때)
+            applied++;
+        }
+        bank = change.bank();   // 반영하지 않은 문제는 예전 문제 그대로 (BankWatcher)
+        Metrics.histogram("bank.reload").record(change.nanos() + System.nanoTime() - start);
+        System.out.printf("문제은행 다시 읽음: %d문제 바뀜 (%.1f ms)%n", applied,
+                (change.nanos() + System.nanoTime() - start) / 1_000_000.0);
     }
 
     // 답안 제출 버튼 클릭 시 실행되는 메서드
     private void onSubmit() {
-        if (submitted) { // 이미 제출 완료 상태면 알림만 띄우고 종료
+        // 제출 가능 여부 검사 (규칙은 서버 모드와 같이 ExamSession 에 있음)
+        ExamSession.SubmitStatus status = session.checkSubmittable();
+        if (status == ExamSession.SubmitStatus.ALREADY_SUBMITTED) { // 이미 제출 완료 상태면 알림만 띄우고 종료
             JOptionPane.showMessageDialog(frame, "이미 정답을 제출했습니다.", "알림", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
-
-        // 모든 문제에 답이 선택됐는지 검사
-        for (char c : userAnswers) {
-            if (c == '\u0000') { // 아직 답 안 한 문제 있으면 경고 띄우고 종료
-                JOptionPane.showMessageDialog(frame, "모든 문제를 풀어야 합니다.", "경고", JOptionPane.WARNING_MESSAGE);
-                return;
-            }
+        if (status == ExamSession.SubmitStatus.INCOMPLETE) { // 아직 답 안 한 문제 있으면 경고 띄우고 종료
+            JOptionPane.showMessageDialog(frame, "모든 문제를 풀어야 합니다.", "경고", JOptionPane.WARNING_MESSAGE);
+            return;
         }
 
         // 제출 확인 다이얼로그 (예/아니오 선택)
@@ -151,12 +280,20 @@ public class QuizApp {
                 "답안 제출 확인",
                 JOptionPane.YES_NO_OPTION);
 
-        if (result == JOptionPane.YES_OPTION) {
-            submitted = true;  // 제출 완료 상태로 변경
+        if (result == JOptionPane.YES_OPTION && session.submit() == ExamSession.SubmitStatus.OK) {
+            // 제출 완료 상태로 변경 + 채점 완료
+
+            // 제출이 끝났으니 복구용 저널은 삭제
+            if (journal != null) {
+                journal.discard();
+                journal = null;
+            }
 
             // 모든 문제 선택지 비활성화 (답 수정 못 하게)
             for (Question q : questions) {
-                q.disableChoices();
+                if (q != null) {
+                    q.disableChoices();
+                }
             }
 
             // 채점 결과 보여주기
@@ -166,77 +303,97 @@ public class QuizApp {
 
     // 채점 후 결과 창 띄우는 메서드
     private void showResult() {
-        QuestionConfig[] configs = QuestionData.QUESTIONS;
-        int correctCount = 0;       // 맞은 문제 수
-        int incorrectCount = 0;     // 틀린 문제 수
+        // 채점은 제출할 때 ExamSession(GradingEngine)이 했고, 여기서는 결과를 화면에 보여주기만 함
+        // (문제를 섞은 경우 정답 키와 채점한 답안지는 문제은행 순서 - 표에서 화면 번호와 화면 키로 바꿔서 보여줌)
+        byte[] key = session.getAnswerKey();
+        byte[] sheet = session.getGradedSheet();
+        GradingEngine.Result graded = session.getResult();
 
-        List<String[]> wrongDetails = new ArrayList<>(); // 틀린 문제 번호, 내 답, 정답 저장
+        // 결과 표는 답안지/정답 바이트 배열을 그대로 쓰는 모델로 (칸 글자는 그릴 때 만듦)
+        ResultView resultPanel = new ResultView(ResultTableModel.single(key, sheet, graded, session.getVariant()));
 
-        for (int i = 0; i < configs.length; i++) {
-            // 정답키(answer)와 사용자 답 비교
-            if (userAnswers[i] == configs[i].answer) {
-                correctCount++;
-            } else {
-                incorrectCount++;
-                wrongDetails.add(new String[] {
-                        String.valueOf(i + 1),
-                        String.valueOf(userAnswers[i]),
-                        String.valueOf(configs[i].answer)
-                });
-            }
-        }
+        // 결과창 띄우기
+        JOptionPane.showMessageDialog(frame, resultPanel, "정답 결과", JOptionPane.INFORMATION_MESSAGE);
+    }
 
-        // 결과 표시용 패널 생성
-        JPanel resultPanel = new JPanel();
-        resultPanel.setLayout(new BorderLayout(10, 10));
-
-        // 상단: 맞은 개수, 틀린 개수 라벨
-        JLabel correctLabel = new JLabel("맞은 개수: " + correctCount);
-        correctLabel.setFont(new Font("맑은 고딕", Font.BOLD, 18));
-        JLabel incorrectLabel = new JLabel("틀린 개수: " + incorrectCount);
-        incorrectLabel.setFont(new Font("맑은 고딕", Font.BOLD, 18));
-
-        JPanel topPanel = new JPanel(new GridLayout(1, 2, 20, 0)); // 1행 2열 격자
-        topPanel.add(correctLabel);
-        topPanel.add(incorrectLabel);
-        resultPanel.add(topPanel, BorderLayout.NORTH);
-
-        // 하단: 틀린 문제들 테이블 생성
-        String[] columnNames = {"번호", "내 답", "정답"};
-        String[][] data = new String[wrongDetails.size()][3];
-        for (int i = 0; i < wrongDetails.size(); i++) {
-            data[i] = wrongDetails.get(i);
-        }
+    // 해당 문제 카드로 이동 (필요하면 카드 생성 + 최신 배율 적용)
+    void showQuestion(int index) {
+        cardDeck.show(index);
+        rescaler.applyTo(index);
+        navigator.setCurrent(index);
+    }
 
-        JTable table = new JTable(data, columnNames);
-        JScrollPane scrollPane = new JScrollPane(table);
-        resultPanel.add(scrollPane, BorderLayout.CENTER);
+    // 이 창의 시험 세션
+    public ExamSession getSession() {
+        return session;
+    }
 
-        // 결과창 띄우기
-        JOptionPane.showMessageDialog(frame, resultPanel, "정답 결과", JOptionPane.INFORMATION_MESSAGE);
+    // 이 시험 세션의 답안지
+    public AnswerSheet getAnswerSheet() {
+        return session.getAnswerSheet();
+    }
+
+    // 답 저널 열기 + 복구할 답 읽기 (-Dquiz.journal=off 거나 열 수 없으면 null, 답안지 적용은 EDT 에서 attach)
+    private AnswerJournal openJournal() {
+        if ("off".equals(System.getProperty("quiz.journal"))) {
+            return null;
+        }
+        try {
+            // 문제은행 내용 + 응시자가 같은 시험의 기록만 복구 (파일도 응시자마다 따로)
+            return AnswerJournal.open(AnswerJournal.defaultPath(session.getId()), session.getAnswerSheet(),
+                    AnswerJournal.fingerprint(bank), session.getId());
+        } catch (java.io.IOException e) {
+            System.err.println("답안 저널을 열 수 없습니다: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // 답안 제출이 끝났는지 여부 (나중에 만들어지는 카드도 비활성화 상태로 만들기 위해 사용)
+    public boolean isSubmitted() {
+        return session.isSubmitted();
     }
 
     // 문제별 답 선택 시 네비게이션에 선택 답 표시 갱신
     public void updateAnswerLabel(int index) {
-        char ans = userAnswers[index];
-        String answerText = (ans != '\u0000') ? choiceCharToNumber(ans) : "";
-        answerLabels[index].setText(answerText);
-    }
-
-    // 'A'~'E'를 ①~⑤로 변환해주는 헬퍼 메서드
-    private String choiceCharToNumber(char ch) {
-        return switch (ch) {
-            case 'A' -> "①";
-            case 'B' -> "②";
-            case 'C' -> "③";
-            case 'D' -> "④";
-            case 'E' -> "⑤";
-            default -> "";
-        };
+        QuizEvents.AnswerLabelUpdate event = QuizEvents.beginAnswerLabelUpdate();
+        navigator.answerChanged(index);
+        QuizEvents.answerLabelUpdated(event, index);
     }
 
     // 메인 메서드 - 프로그램 시작 지점
     public static void main(String[] args) {
-        new QuizApp();
+        // 폰트/Swing 클래스 준비는 문제은행 읽기, 세션 준비와 동시에 백그라운드에서
+        // (시작 단계 측정 기준 시각도 여기)
+        StartupSequencer startup = StartupSequencer.start();
+
+        // 문제 데이터 가져오기 (기본은 QuestionData, -Dquiz.bank 를 주면 바이너리 문제은행 파일)
+        QuizEvents.BankLoad load = QuizEvents.beginBankLoad();
+        QuestionBank bank = QuestionBank.load();
+        QuizEvents.bankLoaded(load, System.getProperty("quiz.bank", "QuestionData"), bank.size());
+
+        // 시험 시작 전에 모든 문제를 검사해서, 잘못된 문제가 있으면 한꺼번에 보여주고 종료 (화면은 만들지 않음)
+        // (문제 수에 비례하지만 여러 스레드로 나눠 검사하므로 짧음 - 첫 화면에서 빼는 것은 답 복구뿐)
+        QuizEvents.StartupPhase validate = QuizEvents.beginStartupPhase();
+        QuestionBankValidator.Report report = QuestionBankValidator.validate(bank);
+        QuizEvents.startupPhase(validate, "validate");
+        if (!report.isValid()) {
+            System.err.println(report);
+            SwingUtilities.invokeLater(() -> {
+                JTextArea text = new JTextArea(report.toString(), 15, 60);
+                text.setEditable(false);
+                JOptionPane.showMessageDialog(null, new JScrollPane(text),
+                        "문제은행 오류", JOptionPane.ERROR_MESSAGE);
+                System.exit(1);
+            });
+            return;
+        }
+        ExamSession session = prepare(bank, startup);
+
+        // 화면은 EDT 에서 만듦 (첫 카드 + 문제 목록만 만들고 바로 보여줌)
+        SwingUtilities.invokeLater(() -> {
+            QuizEvents.StartupPhase build = QuizEvents.beginStartupPhase();
+            new QuizApp(bank, session, startup);
+            QuizEvents.startupPhase(build, "buildUi");
+        });
     }
 }
@@ -0,0 +1,256 @@
+import javax.swing.*;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// 화면 없이(headless) 돌리는 성능 측정 도구
+// 사용법: java -cp <클래스폴더>:src QuizBenchmark [이름 일부...]
+//   예) java QuizBenchmark grade        → 이름에 grade 가 들어간 측정만
+// 측정 항목:
+//   questionData.init      QuestionData 클래스 초기화 (매번 새 클래스 로더로 불러옴)
+//   question.build/N       Question 객체 N개 생성 + createPanel (합성 문제은행 N = 100, 1000, 10000)
+//   resize.noImage         이미지 없는 카드의 applyScale 한 번 + 크기 다시 재기 (RescaleScheduler 가 리사이즈 때 하는 일)
+//   resize.image           이미지 있는 카드의 applyScale 한 번
+//   choiceCharToNumber     키 문자 → ①~⑤ 변환
+//   grade/N                답안지 SHEETS 장 채점 (QuestionData 20문제 + 합성 문제은행 N문제)
+//   variant.generate/N     응시자 SHEETS 명의 문제/선택지 순서표 생성 (ExamVariant, 합성 문제은행 N문제)
+//   variant.unpermute/N    섞인 답안지 SHEETS 장을 문제은행 순서로 되돌림
+//   search.build/N         SearchIndex 전체 색인 (합성 문제은행 N문제)
+//   search.query/N         검색어 SEARCH_QUERIES 를 한 번씩 검색
+// 설정: -Dquiz.bench.warmup=5 -Dquiz.bench.iterations=10 -Dquiz.bench.sizes=100,1000,10000 -Dquiz.bench.sheets=10000
+// 각 측정은 준비 반복(warmup)으로 JIT 를 데운 뒤 iterations 번 재서 평균/최소/최대를 출력한다.
+public class QuizBenchmark {
+    static final int WARMUP = Integer.getInteger("quiz.bench.warmup", 5);
+    static final int ITERATIONS = Integer.getInteger("quiz.bench.iterations", 10);
+    static final int SHEETS = Integer.getInteger("quiz.bench.sheets", 10000);
+    static final String[] SEARCH_QUERIES = {"십자군", "진주만 공격", "독립 선언", "밑줄 친", "없는 검색어"};
+    static final int[] SIZES = Arrays.stream(System.getProperty("quiz.bench.sizes", "100,1000,10000").split(","))
+            .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+
+    // 측정할 작업 (한 번 실행하고 JIT 가 결과를 버리지 못하게 값을 돌려줌)
+    private interface Op {
+        long run() throws Exception;
+    }
+
+    // 측정 결과 한 줄
+    private record Result(String name, long ops, double meanMs, double minMs, double maxMs) {
+        @Override
+        public String toString() {
+            double perOpUs = meanMs * 1000 / ops;
+            return String.format(Locale.ROOT, "%-26s %10.3f ms  (min %.3f, max %.3f)  %12.3f us/op",
+                    name, meanMs, minMs, maxMs, perOpUs);
+        }
+    }
+
+    private static long sink;   // 결과를 모아 두는 곳 (측정 대상 코드가 최적화로 사라지지 않도록)
+    private final List<String> filters;
+    private final List<Result> results = new ArrayList<>();
+
+    QuizBenchmark(List<String> filters) {
+        this.filters = filters;
+    }
+
+    public static void main(String[] args) throws Exception {
+        // 창을 띄우지 않고 Swing 컴포넌트만 만듦 (AWT 를 쓰기 전에 설정해야 함)
+        System.setProperty("java.awt.headless", System.getProperty("java.awt.headless", "true"));
+        QuizBenchmark bench = new QuizBenchmark(List.of(args));
+        System.out.printf("warmup %d, iterations %d, sizes %s, sheets %d, %s%n",
+                WARMUP, ITERATIONS, Arrays.toString(SIZES), SHEETS, System.getProperty("java.version"));
+
+        bench.measure("questionData.init", 1, QuizBenchmark::initQuestionData);
+
+        // Swing 컴포넌트는 EDT 에서 다룸
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                for (int size : SIZES) {
+                    QuestionBank bank = SyntheticBank.generate(size, 42);
+                    bench.measure("question.build/" + size, size, () -> buildAll(bank));
+                }
+                bench.measureResize("resize.noImage", firstIndex(false));
+                bench.measureResize("resize.image", firstIndex(true));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        char[] keys = new char[1 << 20];
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (char) ('A' + random.nextInt(5));
+        }
+        bench.measure("choiceCharToNumber", keys.length, () -> {
+            long sum = 0;
+            for (char k : keys) {
+                sum += Question.choiceCharToNumber(k).charAt(0);
+            }
+            return sum;
+        });
+
+        bench.measureGrade("grade/" + QuestionData.QUESTIONS.length, QuestionBank.of(QuestionData.QUESTIONS));
+        for (int size : SIZES) {
+            bench.measureGrade("grade/" + size, SyntheticBank.generate(size, 42));
+        }
+        for (int size : SIZES) {
+            bench.measureVariants(size, SyntheticBank.generate(size, 42));
+        }
+        for (int size : SIZES) {
+            bench.measureSearch(size, SyntheticBank.generate(size, 42));
+        }
+
+        System.out.println();
+        for (Result r : bench.results) {
+            System.out.println(r);
+        }
+        System.exit(0);
+    }
+
+    // 이름이 걸러지지 않았으면 측정
+    private void measure(String name, long ops, Op op) throws Exception {
+        if (!filters.isEmpty() && filters.stream().noneMatch(name::contains)) {
+            return;
+        }
+        for (int i = 0; i < WARMUP; i++) {
+            sink += op.run();
+        }
+        double[] ms = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            sink += op.run();
+            ms[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Result r = new Result(name, ops, Arrays.stream(ms).average().orElse(0),
+                Arrays.stream(ms).min().orElse(0), Arrays.stream(ms).max().orElse(0));
+        results.add(r);
+        System.out.println(r);
+    }
+
+    // QuestionData 를 새 클래스 로더로 불러와서 초기화 (static 배열 생성 비용)
+    private static long initQuestionData() throws Exception {
+        URL location = QuestionData.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{location}, ClassLoader.getPlatformClassLoader())) {
+            Class<?> c = Class.forName("QuestionData", true, loader);
+            Object[] questions = (Object[]) c.getField("QUESTIONS").get(null);
+            return questions.length;
+        }
+    }
+
+    // 문제은행 전체를 Question 으로 만들고 화면까지 생성
+    private static long buildAll(QuestionBank bank) {
+        ExamSession session = new ExamSession("bench", GradingEngine.answerKey(bank));
+        long components = 0;
+        for (int i = 0; i < bank.size(); i++) {
+            QuestionConfig cfg = bank.get(i);
+            Question q = new Question(session, i, cfg.questionText, cfg.passage, cfg.choices, cfg.keys,
+                    cfg.hasImage ? cfg.imagePath : "");
+            components += q.createPanel().getComponentCount();
+        }
+        return components;
+    }
+
+    // 이미지가 있는(없는) 첫 문제 번호
+    private static int firstIndex(boolean withImage) {
+        for (int i = 0; i < QuestionData.QUESTIONS.length; i++) {
+            if (QuestionData.QUESTIONS[i].hasImage == withImage) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("해당하는 문제가 없습니다");
+    }
+
+    // 카드 하나를 만들어 두고 두 배율을 번갈아 적용 (같은 배율이면 applyScale 이 건너뛰므로)
+    private void measureResize(String name, int index) throws Exception {
+        QuestionConfig cfg = QuestionData.QUESTIONS[index];
+        if (cfg.hasImage) {
+            // 이미지 디코딩을 먼저 끝내 둠 (Question 생성 시 바로 완료된 결과를 받도록)
+            ImageCache.shared().load(cfg.imagePath).join();
+        }
+        ExamSession session = new ExamSession("bench", GradingEngine.answerKey(QuestionBank.of(QuestionData.QUESTIONS)));
+        Question q = new Question(session, index, cfg.questionText, cfg.passage, cfg.choices, cfg.keys,
+                cfg.hasImage ? cfg.imagePath : "");
+        JPanel panel = q.createPanel();
+        drainEventQueue(); // Question 이 invokeLater 로 넘긴 이미지 적용 처리
+        float[] scales = {1.0f, 1.25f};
+        int[] turn = {0};
+        measure(name, 1, () -> {
+            q.applyScale(scales[turn[0]++ & 1]);
+            return panel.getPreferredSize().height;     // 바뀐 글자 크기/너비로 다시 재는 비용까지 포함
+        });
+    }
+
+    // 이미 EDT 에 쌓인 이벤트 처리 (EDT 안에서 호출)
+    private static void drainEventQueue() throws Exception {
+        java.awt.EventQueue queue = java.awt.Toolkit.getDefaultToolkit().getSystemEventQueue();
+        while (queue.peekEvent() != null) {
+            java.awt.AWTEvent event = queue.getNextEvent();
+            if (event instanceof java.awt.ActiveEvent active) {
+                active.dispatch();
+            }
+        }
+    }
+
+    // 답안지 SHEETS 장을 만들어서 채점
+    private void measureGrade(String name, QuestionBank bank) throws Exception {
+        byte[] key = GradingEngine.answerKey(bank);
+        byte[] sheets = new byte[SHEETS * key.length];
+        SplittableRandom random = new SplittableRandom(7);
+        for (int s = 0; s < SHEETS; s++) {
+            for (int i = 0; i < key.length; i++) {
+                char[] keys = bank.keys(i);
+                sheets[s * key.length + i] = (byte) keys[random.nextInt(keys.length)];
+            }
+        }
+        measure(name, SHEETS, () -> GradingEngine.grade(key, sheets, SHEETS).score(SHEETS - 1));
+    }
+
+    // 응시자 SHEETS 명의 순서표 생성 + 섞인 답안지 되돌리기
+    private void measureVariants(int size, QuestionBank bank) throws Exception {
+        ExamVariant.Layout layout = ExamVariant.layout(bank);
+        measure("variant.generate/" + size, SHEETS, () -> {
+            long sum = 0;
+            for (int s = 0; s < SHEETS; s++) {
+                sum += layout.variant("candidate-" + s).bankIndex(0);
+            }
+            return sum;
+        });
+
+        // 순서표는 몇 개만 돌려 씀 (되돌리기 비용만 재기 위해)
+        ExamVariant[] variants = new ExamVariant[16];
+        for (int v = 0; v < variants.length; v++) {
+            variants[v] = layout.variant("candidate-" + v);
+        }
+        byte[] sheets = new byte[SHEETS * size];
+        SplittableRandom random = new SplittableRandom(7);
+        for (int s = 0; s < SHEETS; s++) {
+            for (int i = 0; i < size; i++) {
+                char[] keys = bank.keys(variants[s % variants.length].bankIndex(i));
+                sheets[s * size + i] = (byte) keys[random.nextInt(keys.length)];
+            }
+        }
+        // 제자리에서 바뀌므로 매번 섞인 원본을 복사해 두고 되돌림 (복사 비용 포함)
+        byte[] work = sheets.clone();
+        measure("variant.unpermute/" + size, SHEETS, () -> {
+            System.arraycopy(sheets, 0, work, 0, sheets.length);
+            for (int s = 0; s < SHEETS; s++) {
+                variants[s % variants.length].unpermute(work, s * size);
+            }
+            return work[0];
+        });
+    }
+
+    // 색인 만들기 + 검색
+    private void measureSearch(int size, QuestionBank bank) throws Exception {
+        measure("search.build/" + size, size, () -> SearchIndex.build(bank).termCount());
+        SearchIndex index = SearchIndex.build(bank);
+        measure("search.query/" + size, SEARCH_QUERIES.length, () -> {
+            long sum = 0;
+            for (String query : SEARCH_QUERIES) {
+                sum += index.search(query, 50).length;
+            }
+            return sum;
+        });
+    }
+}
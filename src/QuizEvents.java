@@ -0,0 +1,235 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JDK Flight Recorder(JFR) 사용자 이벤트 + Metrics 기록을 한 번에 하는 곳
+// 사용법: java -XX:StartFlightRecording=filename=quiz.jfr,settings=profile QuizApp
+//         → JDK Mission Control 에서 "Quiz" 분류로 확인
+// 재는 구간이 시작할 때 begin...() 으로 이벤트를 만들고 (JFR 시작 시각 + Metrics 용 System.nanoTime),
+// 끝날 때 기록 메서드에 넘기면 JFR 이벤트를 commit 하고 같은 이름의 Metrics 히스토그램에도 기록한다.
+// (JFR 시작/끝 시각을 JFR 이 직접 잡으므로 Mission Control 타임라인에서 실제 구간에 놓임,
+//  JFR 을 켜지 않았으면 이벤트는 만들기만 하고 버려짐)
+public final class QuizEvents {
+    private QuizEvents() {
+    }
+
+    // 시작 시각을 같이 들고 있는 이벤트 (transient 필드는 JFR 에 남지 않음)
+    abstract static class Timed extends Event {
+        transient long startNanos;
+    }
+
+    private static <E extends Timed> E begin(E e) {
+        e.startNanos = System.nanoTime();
+        e.begin();
+        return e;
+    }
+
+    // 구간 끝 - Metrics 에 걸린 시간 기록 + JFR 이 켜져 있으면 commit
+    private static void end(Timed e, String metric) {
+        e.end();
+        if (metric != null) {
+            Metrics.histogram(metric).record(System.nanoTime() - e.startNanos);
+        }
+        if (e.shouldCommit()) {
+            e.commit();
+        }
+    }
+
+    @Name("quiz.StartupPhase")
+    @Label("Startup Phase")
+    @Category("Quiz")
+    @Description("main 부터 첫 문제가 보일 때까지의 단계별 시간")
+    @StackTrace(false)
+    static final class StartupPhase extends Timed {
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("quiz.BankLoad")
+    @Label("Question Bank Load")
+    @Category("Quiz")
+    @StackTrace(false)
+    static final class BankLoad extends Timed {
+        @Label("Source")
+        String source;
+        @Label("Question Count")
+        int questionCount;
+    }
+
+    @Name("quiz.QuestionConstruct")
+    @Label("Question Construction")
+    @Category("Quiz")
+    @StackTrace(false)
+    static final class QuestionConstruct extends Timed {
+        @Label("Question Index")
+        int questionIndex;
+    }
+
+    @Name("quiz.ImageDecode")
+    @Label("Image Decode")
+    @Category("Quiz")
+    @StackTrace(false)
+    static final class ImageDecode extends Timed {
+        @Label("Path")
+        String path;
+        @Label("Width")
+        int width;
+        @Label("Height")
+        int height;
+        @Label("Decoded Size")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name("quiz.CreatePanel")
+    @Label("Question Card Build")
+    @Category("Quiz")
+    @StackTrace(false)
+    static final class CreatePanel extends Timed {
+        @Label("Question Index")
+        int questionIndex;
+    }
+
+    @Name("quiz.ResizePass")
+    @Label("Resize Pass")
+    @Category("Quiz")
+    @StackTrace(false)
+    static final class ResizePass extends Timed {
+        @Label("Question Index")
+        int questionIndex;
+        @Label("Scale")
+        float scale;
+    }
+
+    @Name("quiz.AnswerLabelUpdate")
+    @Label("Answer Label Update")
+    @Category("Quiz")
+    @StackTrace(false)
+    static final class AnswerLabelUpdate extends Timed {
+        @Label("Question Index")
+        int questionIndex;
+    }
+
+    @Name("quiz.SubmitGrade")
+    @Label("Submit and Grade")
+    @Category("Quiz")
+    @StackTrace(false)
+    static final class SubmitGrade extends Timed {
+        @Label("Session")
+        String session;
+        @Label("Question Count")
+        int questionCount;
+        @Label("Score")
+        int score;
+    }
+
+    @Name("quiz.EdtStall")
+    @Label("EDT Stall")
+    @Category("Quiz")
+    @Description("EDT 가 기준 시간 이상 막혀 있었던 구간 (EdtWatchdog)")
+    @StackTrace(false)
+    static final class EdtStall extends Timed {
+        @Label("Visible Question Index")
+        int questionIndex;
+        @Label("Samples")
+        int samples;
+        @Label("Top App Frame")
+        String topFrame;
+    }
+
+    static StartupPhase beginStartupPhase() {
+        return begin(new StartupPhase());
+    }
+
+    static void startupPhase(StartupPhase e, String phase) {
+        e.phase = phase;
+        end(e, "startup." + phase);
+    }
+
+    static BankLoad beginBankLoad() {
+        return begin(new BankLoad());
+    }
+
+    static void bankLoaded(BankLoad e, String source, int questionCount) {
+        e.source = source;
+        e.questionCount = questionCount;
+        end(e, "bank.load");
+    }
+
+    static QuestionConstruct beginQuestionConstruct() {
+        return begin(new QuestionConstruct());
+    }
+
+    static void questionConstructed(QuestionConstruct e, int index) {
+        e.questionIndex = index;
+        end(e, "question.construct");
+    }
+
+    static ImageDecode beginImageDecode() {
+        return begin(new ImageDecode());
+    }
+
+    static void imageDecoded(ImageDecode e, String path, int width, int height) {
+        e.path = path;
+        e.width = width;
+        e.height = height;
+        e.bytes = (long) width * height * 4;
+        end(e, "image.decode");
+    }
+
+    static CreatePanel beginCreatePanel() {
+        return begin(new CreatePanel());
+    }
+
+    static void panelCreated(CreatePanel e, int index) {
+        e.questionIndex = index;
+        end(e, "card.createPanel");
+    }
+
+    static ResizePass beginResizePass() {
+        return begin(new ResizePass());
+    }
+
+    static void resizePass(ResizePass e, int index, float scale) {
+        e.questionIndex = index;
+        e.scale = scale;
+        end(e, "resize.pass");
+    }
+
+    static AnswerLabelUpdate beginAnswerLabelUpdate() {
+        return begin(new AnswerLabelUpdate());
+    }
+
+    static void answerLabelUpdated(AnswerLabelUpdate e, int index) {
+        e.questionIndex = index;
+        end(e, "nav.updateAnswerLabel");
+    }
+
+    static SubmitGrade beginSubmitGrade() {
+        return begin(new SubmitGrade());
+    }
+
+    static void submitted(SubmitGrade e, String session, int questionCount, int score) {
+        e.session = session;
+        e.questionCount = questionCount;
+        e.score = score;
+        end(e, "session.submit");
+    }
+
+    // EdtWatchdog 이 EDT 에 확인 작업을 넣을 때 시작 (멈춤이 아니었으면 기록하지 않고 버림)
+    static EdtStall beginEdtStall() {
+        return begin(new EdtStall());
+    }
+
+    // Metrics "edt.stall" 은 EdtWatchdog 이 직접 기록
+    static void edtStall(EdtStall e, int visibleIndex, int samples, String topFrame) {
+        e.questionIndex = visibleIndex;
+        e.samples = samples;
+        e.topFrame = topFrame;
+        end(e, null);
+    }
+}
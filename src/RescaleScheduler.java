@@ -0,0 +1,90 @@
+import javax.swing.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.List;
+
+// 창 크기 변경 시 문제 화면 배율 조절을 한 곳에서 관리하는 클래스 (QuizApp이 하나 소유)
+// - 창을 끄는 동안 쏟아지는 componentResized 이벤트를 모아서, 멈춘 뒤 DEBOUNCE_MS 후에 한 번만 처리
+// - 그때 지금 보이는 카드에만 배율을 적용하고, 나머지 카드는 화면에 나타날 때 applyTo로 적용
+// - 배율 조절에 EDT가 쓴 시간을 기록해서 stats()로 확인 가능
+public class RescaleScheduler {
+    // 리사이즈가 멈춘 뒤 기다리는 시간 (ms, -Dquiz.rescale.debounceMs 로 조절)
+    static final int DEBOUNCE_MS = Integer.getInteger("quiz.rescale.debounceMs", 120);
+
+    // 기준 디자인 크기 (이 크기를 배율 1로 보고 비율 계산)
+    static final int BASE_WIDTH = 800;
+    static final int BASE_HEIGHT = 500;
+
+    private final JComponent target;         // 크기를 감시할 컴포넌트 (카드들이 들어있는 메인 패널)
+    private final List<Question> questions;  // 배율을 적용할 문제들
+    private final CardDeck cardDeck;         // 지금 보이는 카드 확인용
+    private final Timer timer;               // 디바운스 타이머 (반복 없음)
+    private float currentScale = -1f;        // 마지막으로 계산된 배율 (아직 없으면 -1)
+
+    // 측정값 (앱 전체 Metrics 에 같이 모음)
+    private final java.util.concurrent.atomic.LongAdder resizeEvents = Metrics.counter("resize.events"); // 받은 리사이즈 이벤트 수
+    private final Metrics.Histogram passes = Metrics.histogram("resize.pass"); // 실제 배율 적용 횟수와 EDT 시간
+
+    public RescaleScheduler(JComponent target, List<Question> questions, CardDeck cardDeck) {
+        this.target = target;
+        this.questions = questions;
+        this.cardDeck = cardDeck;
+
+        timer = new Timer(DEBOUNCE_MS, e -> rescaleNow());
+        timer.setRepeats(false);
+
+        // 이벤트가 올 때마다 타이머를 다시 시작 → 마지막 이벤트 뒤 한 번만 실행
+        target.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                resizeEvents.increment();
+                timer.restart();
+            }
+        });
+    }
+
+    // 패널 크기로부터 배율 계산 (가로/세로 중 작은 쪽 비율 → 비율 유지)
+    static float scaleFor(int width, int height) {
+        float scaleW = (float) width / BASE_WIDTH;
+        float scaleH = (float) height / BASE_HEIGHT;
+        return Math.min(scaleW, scaleH);
+    }
+
+    // 지금 바로 배율을 다시 계산해서 보이는 카드에 적용
+    void rescaleNow() {
+        if (target.getWidth() <= 0 || target.getHeight() <= 0) {
+            return;
+        }
+        currentScale = scaleFor(target.getWidth(), target.getHeight());
+        applyTo(cardDeck.getCurrent());
+    }
+
+    // 카드가 화면에 나타날 때 호출 - 그 카드에 아직 최신 배율이 적용 안 되어 있으면 적용
+    public void applyTo(int index) {
+        if (currentScale <= 0 || index < 0 || index >= questions.size() || !cardDeck.isBuilt(index)) {
+            return;
+        }
+        QuizEvents.ResizePass event = QuizEvents.beginResizePass();
+        questions.get(index).applyScale(currentScale);
+        QuizEvents.resizePass(event, index, currentScale);
+    }
+
+    public float getCurrentScale() {
+        return currentScale;
+    }
+
+    // 배율 조절에 EDT가 쓴 총 시간 (ms)
+    public double edtMillis() {
+        return passes.totalNanos() / 1_000_000.0;
+    }
+
+    // 측정값 요약 문자열
+    public String stats() {
+        return String.format("Rescale events=%d passes=%d edt=%.2fms max=%.2fms",
+                resizeEvents.sum(), passes.count(), edtMillis(), passes.maxNanos() / 1_000_000.0);
+    }
+
+    public void dispose() {
+        timer.stop();
+    }
+}
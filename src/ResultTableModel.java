@@ -0,0 +1,298 @@
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+
+// 채점 결과 표의 데이터 (JTable 용)
+// - 행 객체나 문자열 배열을 미리 만들지 않고, 정답 키 / 답안지 바이트 배열 / 채점 비트를 그대로 들고 있다.
+// - 행 하나는 int 하나 (답안지 번호 * 문제 수 + 문제 번호). 보이는 행 목록(rows)만 int[] 로 관리하고
+//   칸에 들어갈 글자는 JTable 이 그 칸을 그릴 때 getValueAt 에서 만든다.
+// - 걸러내기(틀린 문제만 / 전체 / 안 푼 문제만, 특정 문제 번호만)와 정렬은 rows 배열만 다시 만든다.
+// - 문제를 섞은 시험(ExamVariant, 답안지 한 장)이면 정답 키/답안지/채점 결과는 문제은행 순서 그대로 두고,
+//   번호와 답 글자만 그릴 때 응시자가 본 화면 번호와 화면 키(①~⑤ 칸)로 바꾼다. (문제 순서도 화면 번호 순)
+// - 답안지가 많으면 PAGE_SIZE 명씩 나눠서 보여준다. (한 페이지의 행만 만들기 때문에 응시자 수와 상관없이 빠름)
+@SuppressWarnings("serial")
+public class ResultTableModel extends AbstractTableModel {
+    // 한 페이지에 보여줄 응시자 수 (-Dquiz.results.pageSize)
+    static final int PAGE_SIZE = Integer.getInteger("quiz.results.pageSize", 50);
+
+    // 어떤 문제를 보여줄지
+    public enum Filter {
+        WRONG("틀린 문제"),
+        ALL("전체"),
+        UNANSWERED("안 푼 문제");
+
+        private final String label;
+
+        Filter(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // 열 번호 (응시자 열은 답안지가 여러 장일 때만 보임)
+    static final int COL_CANDIDATE = 0;
+    static final int COL_QUESTION = 1;
+    static final int COL_MINE = 2;
+    static final int COL_KEY = 3;
+    static final int COL_RESULT = 4;
+    private static final String[] COLUMN_NAMES = {"응시자", "번호", "내 답", "정답", "결과"};
+
+    private final byte[] key;                 // 정답 키 (문제당 1바이트)
+    private final byte[] sheets;              // 답안지들 (sheetCount * 문제 수)
+    private final String[] candidates;        // 응시자 이름 (null 이면 1부터 번호)
+    private final GradingEngine.Result result;
+    private final int q;
+    private final boolean multi;              // 답안지가 여러 장인지 (응시자 열 표시)
+    private final ExamVariant variant;        // 응시자가 본 문제/선택지 순서 (섞지 않았으면 null)
+    private final int[] positions;            // 문제은행 번호 → 화면 위치 (섞은 경우만, 아니면 null)
+
+    private Filter filter = Filter.WRONG;
+    private int questionFilter = -1;          // 이 문제만 보기 (-1 이면 전체)
+    private int page;
+    private int sortColumn = -1;              // 정렬 기준 열 (-1 이면 응시자, 문제 순서)
+    private boolean descending;
+    private int[] rows = new int[0];          // 지금 보이는 행 (답안지 번호 * q + 문제 번호)
+    private int rowCount;
+
+    public ResultTableModel(byte[] key, byte[] sheets, String[] candidates, GradingEngine.Result result) {
+        this(key, sheets, candidates, result, null);
+    }
+
+    private ResultTableModel(byte[] key, byte[] sheets, String[] candidates, GradingEngine.Result result, ExamVariant variant) {
+        this.key = key;
+        this.sheets = sheets;
+        this.candidates = candidates;
+        this.result = result;
+        this.q = key.length;
+        this.multi = result.sheetCount() > 1;
+        this.variant = variant;
+        if (variant != null) {
+            positions = new int[q];
+            for (int i = 0; i < q; i++) {
+                positions[variant.bankIndex(i)] = i;
+            }
+        } else {
+            positions = null;
+        }
+        rebuild();
+    }
+
+    // 답안지 한 장짜리 (Swing 화면의 내 결과)
+    public static ResultTableModel single(byte[] key, byte[] sheet, GradingEngine.Result result) {
+        return single(key, sheet, result, null);
+    }
+
+    // 문제를 섞은 시험의 답안지 한 장 (key, sheet 는 문제은행 순서, 표에는 variant 의 화면 번호/화면 키로 보임)
+    public static ResultTableModel single(byte[] key, byte[] sheet, GradingEngine.Result result, ExamVariant variant) {
+        return new ResultTableModel(key, sheet, null, result, variant);
+    }
+
+    public int pageCount() {
+        return Math.max(1, (result.sheetCount() + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        int p = Math.max(0, Math.min(page, pageCount() - 1));
+        if (p != this.page) {
+            this.page = p;
+            rebuild();
+        }
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Filter filter) {
+        if (filter != this.filter) {
+            this.filter = filter;
+            rebuild();
+        }
+    }
+
+    // 특정 문제만 보기 (question 은 0부터 표에 보이는 번호, -1 이면 전체)
+    public void setQuestionFilter(int question) {
+        if (question >= 0 && variant != null) {
+            question = variant.bankIndex(question);
+        }
+        if (question != questionFilter) {
+            questionFilter = question;
+            rebuild();
+        }
+    }
+
+    // 열 머리글을 누르면 호출 - 같은 열이면 오름/내림 차순 전환
+    public void sortBy(int column) {
+        if (column == sortColumn) {
+            descending = !descending;
+        } else {
+            sortColumn = column;
+            descending = false;
+        }
+        sortRows();
+        fireTableDataChanged();
+    }
+
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    // 지금 페이지의 응시자 범위 [first, last)
+    public int firstSheet() {
+        return page * PAGE_SIZE;
+    }
+
+    public int lastSheet() {
+        return Math.min(result.sheetCount(), firstSheet() + PAGE_SIZE);
+    }
+
+    public int sheetCount() {
+        return result.sheetCount();
+    }
+
+    public String candidateName(int sheet) {
+        return candidates != null ? candidates[sheet] : String.valueOf(sheet + 1);
+    }
+
+    public int score(int sheet) {
+        return result.score(sheet);
+    }
+
+    public int questionCount() {
+        return q;
+    }
+
+    // 보이는 행 다시 계산 (지금 페이지 응시자만 훑음)
+    private void rebuild() {
+        int first = firstSheet();
+        int last = lastSheet();
+        int max = (last - first) * (questionFilter >= 0 ? 1 : q);
+        if (rows.length < max) {
+            rows = new int[max];
+        }
+        int n = 0;
+        for (int s = first; s < last; s++) {
+            if (questionFilter >= 0) {
+                if (matches(s, questionFilter)) {
+                    rows[n++] = s * q + questionFilter;
+                }
+            } else if (filter == Filter.WRONG) {
+                for (int i = result.nextWrong(s, 0); i >= 0; i = result.nextWrong(s, i + 1)) {
+                    rows[n++] = s * q + i;
+                }
+            } else {
+                for (int i = 0; i < q; i++) {
+                    if (matches(s, i)) {
+                        rows[n++] = s * q + i;
+                    }
+                }
+            }
+        }
+        rowCount = n;
+        sortRows();
+        fireTableDataChanged();
+    }
+
+    private boolean matches(int sheet, int question) {
+        return switch (filter) {
+            case WRONG -> !result.isCorrect(sheet, question);
+            case ALL -> true;
+            case UNANSWERED -> sheets[sheet * q + question] == 0;
+        };
+    }
+
+    // 정렬 - (정렬 값 << 32 | 행) 을 long 배열로 정렬해서 행 순서만 바꿈 (같은 값이면 원래 순서)
+    // (섞은 시험은 기본 순서도 화면 번호 순)
+    private void sortRows() {
+        if (sortColumn < 0 && positions == null) {
+            Arrays.sort(rows, 0, rowCount);
+            return;
+        }
+        if (rowCount < 2) {
+            return;
+        }
+        int column = sortColumn < 0 ? COL_QUESTION : sortColumn;
+        boolean desc = sortColumn >= 0 && descending;
+        long[] packed = new long[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            int row = rows[r];
+            long value = sortValue(row, column);
+            packed[r] = (desc ? -value : value) << 32 | row;
+        }
+        Arrays.sort(packed);
+        for (int r = 0; r < rowCount; r++) {
+            rows[r] = (int) packed[r];
+        }
+    }
+
+    private long sortValue(int row, int column) {
+        int sheet = row / q;
+        int question = row % q;
+        return switch (column) {
+            case COL_CANDIDATE -> sheet;
+            case COL_QUESTION -> position(question);
+            case COL_MINE -> shown(question, sheets[row]);
+            case COL_KEY -> shown(question, key[question]);
+            case COL_RESULT -> result.isCorrect(sheet, question) ? 1 : 0;
+            default -> row;
+        };
+    }
+
+    // 문제은행 번호 → 표에 보이는 번호 (0부터, 섞지 않았으면 그대로)
+    private int position(int question) {
+        return positions == null ? question : positions[question];
+    }
+
+    // 문제은행 기준 답 글자 → 그 문제 화면에서 보인 키 (섞지 않았으면 그대로)
+    private char shown(int question, byte answer) {
+        char c = (char) (answer & 0xFF);
+        return variant == null ? c : variant.displayKey(position(question), c);
+    }
+
+    // JTable 열 번호 → 내부 열 번호 (한 장짜리면 응시자 열을 숨김)
+    public int modelColumn(int column) {
+        return multi ? column : column + 1;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return multi ? COLUMN_NAMES.length : COLUMN_NAMES.length - 1;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[modelColumn(column)];
+    }
+
+    // 그릴 때 그 칸의 글자만 만듦
+    @Override
+    public Object getValueAt(int rowIndex, int column) {
+        int row = rows[rowIndex];
+        int sheet = row / q;
+        int question = row % q;
+        return switch (modelColumn(column)) {
+            case COL_CANDIDATE -> candidateName(sheet);
+            case COL_QUESTION -> String.valueOf(position(question) + 1);
+            case COL_MINE -> sheets[row] == 0 ? "-" : String.valueOf(shown(question, sheets[row]));
+            case COL_KEY -> String.valueOf(shown(question, key[question]));
+            case COL_RESULT -> result.isCorrect(sheet, question) ? "O" : "X";
+            default -> "";
+        };
+    }
+}
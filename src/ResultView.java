@@ -0,0 +1,153 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// 채점 결과 화면 (ResultTableModel 을 보여주는 패널)
+// - 위: 점수 요약, 보기 선택(틀린 문제 / 전체 / 안 푼 문제), 페이지 이동
+// - 가운데: 결과 표 (열 머리글을 누르면 그 열로 정렬, 다시 누르면 반대 순서)
+// 감독관용: java ResultView 답안지파일 → 여러 응시자의 결과를 한 화면에서 페이지로 넘겨 봄
+//   (답안지 파일 형식은 ItemAnalysis 와 같음, 줄 앞에 "이름<TAB>" 을 붙이면 응시자 이름으로 표시)
+@SuppressWarnings("serial")
+public class ResultView extends JPanel {
+    private final ResultTableModel model;
+    private final JLabel summary = new JLabel();
+    private final JLabel pageLabel = new JLabel();
+    private final JButton prev = new JButton("◀");
+    private final JButton next = new JButton("▶");
+
+    public ResultView(ResultTableModel model) {
+        super(new BorderLayout(10, 10));
+        this.model = model;
+
+        JTable table = new JTable(model);
+        table.setFont(FontRegistry.get(Font.PLAIN, 14));
+        table.setRowHeight(22);
+        table.setAutoCreateRowSorter(false);    // 정렬은 모델이 int 배열로 직접 함
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    model.sortBy(model.modelColumn(table.convertColumnIndexToModel(column)));
+                }
+            }
+        });
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JComboBox<ResultTableModel.Filter> filter = new JComboBox<>(ResultTableModel.Filter.values());
+        filter.setSelectedItem(model.getFilter());
+        filter.addActionListener(e -> {
+            model.setFilter((ResultTableModel.Filter) filter.getSelectedItem());
+            refresh();
+        });
+        prev.addActionListener(e -> {
+            model.setPage(model.getPage() - 1);
+            refresh();
+        });
+        next.addActionListener(e -> {
+            model.setPage(model.getPage() + 1);
+            refresh();
+        });
+
+        summary.setFont(FontRegistry.get(Font.BOLD, 18));
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+        controls.add(filter);
+        if (model.pageCount() > 1) {
+            controls.add(prev);
+            controls.add(pageLabel);
+            controls.add(next);
+        }
+        JPanel top = new JPanel(new BorderLayout());
+        top.add(summary, BorderLayout.WEST);
+        top.add(controls, BorderLayout.EAST);
+        add(top, BorderLayout.NORTH);
+
+        setPreferredSize(new Dimension(model.sheetCount() > 1 ? 640 : 420, 360));
+        refresh();
+    }
+
+    // 요약과 페이지 표시 갱신
+    private void refresh() {
+        if (model.sheetCount() == 1) {
+            int correct = model.score(0);
+            summary.setText("맞은 개수: " + correct + "    틀린 개수: " + (model.questionCount() - correct));
+        } else {
+            int first = model.firstSheet();
+            int last = model.lastSheet();
+            long sum = 0;
+            for (int s = first; s < last; s++) {
+                sum += model.score(s);
+            }
+            summary.setText(String.format("응시자 %d~%d / %d명, 평균 %.1f점",
+                    first + 1, last, model.sheetCount(), (double) sum / Math.max(1, last - first)));
+        }
+        pageLabel.setText((model.getPage() + 1) + " / " + model.pageCount());
+        prev.setEnabled(model.getPage() > 0);
+        next.setEnabled(model.getPage() + 1 < model.pageCount());
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("사용법: java ResultView <답안지파일>");
+            System.exit(1);
+        }
+        QuestionBank bank = QuestionBank.load();
+        byte[] key = GradingEngine.answerKey(bank);
+        int q = key.length;
+
+        // 답안지 읽기 (형식이 맞지 않는 줄은 건너뜀)
+        List<String> names = new ArrayList<>();
+        byte[] sheets = new byte[q * 1024];
+        int count = 0;
+        try (BufferedReader in = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                String name = tab >= 0 ? line.substring(0, tab) : String.valueOf(count + 1);
+                String answers = tab >= 0 ? line.substring(tab + 1) : line;
+                if (answers.length() != q) {
+                    continue;
+                }
+                sheets = GradingEngine.ensureSheets(sheets, count + 1, q);
+                if (parse(answers, sheets, count * q)) {
+                    names.add(name);
+                    count++;
+                }
+            }
+        }
+        GradingEngine.Result result = GradingEngine.grade(key, sheets, count);
+        ResultTableModel model = new ResultTableModel(key, sheets, names.toArray(new String[0]), result);
+
+        int sheetCount = count;
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("채점 결과 - 응시자 " + sheetCount + "명");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.add(new ResultView(model));
+            frame.pack();
+            frame.setVisible(true);
+        });
+    }
+
+    // 한 줄을 답안지 바이트로 ('.', ' ', '-' 는 안 푼 문제)
+    private static boolean parse(String answers, byte[] dst, int offset) {
+        for (int i = 0; i < answers.length(); i++) {
+            char c = answers.charAt(i);
+            if (c == '.' || c == ' ' || c == '-') {
+                dst[offset + i] = 0;
+            } else if (c >= AnswerSheet.MIN_KEY && c <= AnswerSheet.MAX_KEY) {
+                dst[offset + i] = (byte) c;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+}
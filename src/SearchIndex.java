@@ -0,0 +1,493 @@
+import java.util.Arrays;
+import java.util.Locale;
+
+// 문제은행 전체 글 검색 (제목 + 본문 + 선택지) - 출제자가 비슷한 문제를 또 만들지 않도록 찾아보는 용도
+// - 글은 TextNormalizer 로 태그/엔티티를 지운 뒤 단어마다 두 글자씩 끊어서(bigram) 색인
+//     "십자군 전쟁" → 십자, 자군, 전쟁   (한 글자 단어는 그 글자 하나)
+//   한국어는 띄어쓰기/조사가 섞여도 두 글자 조각은 거의 그대로 남아서 형태소 분석 없이도 잘 찾힘
+// - 조각(term)마다 그 조각이 들어있는 문서 번호 목록(posting)을 가변 길이 정수(varint)로 차이만 저장
+//   (문서 번호가 늘어나는 순서라 차이가 작아서 대부분 1바이트)
+// - 검색은 검색어 조각들의 목록을 가장 짧은 것부터 교집합 → 검색어의 조각이 모두 들어있는 문제
+// - 문제가 바뀌면(update/refresh) 예전 문서는 지운 표시(tombstone)만 하고 새 문서를 뒤에 추가
+//   지운 문서가 많아지면 목록을 한 번에 다시 씀(compact)
+// 사용법: java SearchIndex 검색어...     (-Dquiz.bank 로 문제은행 지정 가능)
+public class SearchIndex {
+    private static final int EMPTY = 0;     // 조각 해시표의 빈 칸 (조각 값은 0 이 될 수 없음)
+
+    // 조각 해시표 (열린 주소법, 조각 값 → 조각 번호)
+    private int[] termKeys = new int[1 << 12];
+    private int[] termIds = new int[1 << 12];
+    private int termCount;
+
+    // 조각 번호별 posting (varint 차이 배열)
+    private byte[][] postings = new byte[1 << 11][];
+    private int[] postingLength = new int[1 << 11];
+    private int[] postingCount = new int[1 << 11];
+    private int[] postingLast = new int[1 << 11];   // 마지막으로 넣은 문서 번호 (차이 계산용)
+
+    // 문서 (문제 한 판) - 문제가 바뀔 때마다 새 문서 번호
+    private int[] docQuestion = new int[1 << 10];   // 문서 → 문제 번호 (지워진 문서는 -1)
+    private int docCount;
+    private int deadCount;
+
+    // 문제 → 지금 문서 번호, 내용 해시 (바뀌었는지 비교)
+    private int[] questionDoc = new int[0];
+    private long[] questionHash = new long[0];
+    private int questionCount;
+
+    private int[] scratch = new int[256];           // 문서 하나의 조각 모으기용
+    private final StringBuilder text = new StringBuilder();
+
+    // 문제은행 전체 색인
+    public static SearchIndex build(QuestionBank bank) {
+        SearchIndex index = new SearchIndex();
+        index.refresh(bank);
+        return index;
+    }
+
+    public synchronized int size() {
+        return questionCount;
+    }
+
+    // 문제은행과 맞춤 - 내용이 바뀐 문제만 다시 색인, 줄어든 문제는 지움 (바뀐 문제 수 반환)
+    public synchronized int refresh(QuestionBank bank) {
+        int changed = 0;
+        int n = bank.size();
+        for (int i = 0; i < n; i++) {
+            long hash = bank.contentHash(i);    // 내용이 같은 문제는 QuestionConfig 를 꺼내지 않음
+            if (!indexed(i, hash) && update(i, bank.get(i), hash)) {
+                changed++;
+            }
+        }
+        for (int i = questionCount - 1; i >= n; i--) {
+            remove(i);
+            changed++;
+        }
+        return changed;
+    }
+
+    // question 번 문제를 cfg 내용으로 (새 번호면 추가) - 내용이 같으면 아무것도 하지 않고 false
+    public synchronized boolean update(int question, QuestionConfig cfg) {
+        return update(question, cfg, cfg.contentHash());
+    }
+
+    // question 번 문제가 이미 hash 내용으로 색인되어 있는지
+    private boolean indexed(int question, long hash) {
+        return question < questionCount && questionDoc[question] >= 0 && questionHash[question] == hash;
+    }
+
+    private boolean update(int question, QuestionConfig cfg, long hash) {
+        if (indexed(question, hash)) {
+            return false;
+        }
+        if (question >= questionDoc.length) {
+            int cap = Math.max(question + 1, questionDoc.length * 2);
+            int old = questionDoc.length;
+            questionDoc = Arrays.copyOf(questionDoc, cap);
+            questionHash = Arrays.copyOf(questionHash, cap);
+            Arrays.fill(questionDoc, old, cap, -1);
+        }
+        if (question >= questionCount) {
+            questionCount = question + 1;
+        }
+        kill(questionDoc[question]);
+        questionDoc[question] = addDocument(question, cfg);
+        questionHash[question] = hash;
+        compactIfNeeded();
+        return true;
+    }
+
+    // question 번 문제를 색인에서 뺌 (마지막 문제면 문제 수도 줄어듦)
+    public synchronized void remove(int question) {
+        if (question >= questionCount) {
+            return;
+        }
+        kill(questionDoc[question]);
+        questionDoc[question] = -1;
+        while (questionCount > 0 && questionDoc[questionCount - 1] < 0) {
+            questionCount--;
+        }
+        compactIfNeeded();
+    }
+
+    // 검색어의 조각이 모두 들어있는 문제 번호 (오름차순, 최대 limit 개)
+    public synchronized int[] search(String query, int limit) {
+        long start = System.nanoTime();
+        int[] result = find(TextNormalizer.normalize(query), limit);
+        Metrics.histogram("search.query").record(System.nanoTime() - start);
+        return result;
+    }
+
+    private int[] find(String q, int limit) {
+        if (q.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        // 검색어 조각 → 조각 번호 (색인에 없는 조각이 하나라도 있으면 결과 없음)
+        // 한 글자 단어는 그 글자가 들어간 모든 조각의 합집합으로 찾음 (음수로 표시)
+        //   - 조각 표 전체를 훑어서 두 글자 이상 검색어보다 느림 (5만 문제에서 수 ms)
+        int[] terms = new int[q.length()];
+        int n = 0;
+        for (int w = 0; w < q.length(); ) {
+            int end = q.indexOf(' ', w);
+            if (end < 0) {
+                end = q.length();
+            }
+            if (end - w == 1) {
+                terms[n++] = -1 - q.charAt(w);
+            } else {
+                for (int i = w; i + 1 < end; i++) {
+                    int id = termId(q.charAt(i) << 16 | q.charAt(i + 1));
+                    if (id < 0) {
+                        return new int[0];
+                    }
+                    terms[n++] = id;
+                }
+            }
+            w = end + 1;
+        }
+
+        // 짧은 목록부터 (교집합이 빨리 줄어듦), 한 글자 합집합은 맨 뒤
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = terms[i];
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(estimate(a), estimate(b)));
+
+        int[] docs = null;
+        int count = 0;
+        int previous = Integer.MIN_VALUE;
+        for (Integer term : order) {
+            if (term == previous) {
+                continue;   // 같은 조각이 두 번 나온 검색어
+            }
+            previous = term;
+            if (term < 0) {
+                long[] bits = charBits((char) (-1 - term));
+                if (docs == null) {
+                    docs = new int[docCount];
+                    for (int d = 0; d < docCount; d++) {
+                        if ((bits[d >>> 6] & 1L << d) != 0) {
+                            docs[count++] = d;
+                        }
+                    }
+                } else {
+                    int m = 0;
+                    for (int i = 0; i < count; i++) {
+                        if ((bits[docs[i] >>> 6] & 1L << docs[i]) != 0) {
+                            docs[m++] = docs[i];
+                        }
+                    }
+                    count = m;
+                }
+            } else if (docs == null) {
+                docs = new int[postingCount[term]];
+                count = decode(term, docs);
+            } else {
+                count = intersect(term, docs, count);
+            }
+            if (count == 0) {
+                return new int[0];
+            }
+        }
+
+        // 지워진 문서 빼고 문제 번호로 (문제가 바뀌면 문서 번호 순서와 문제 번호 순서가 달라서 정렬 후 자름)
+        int m = 0;
+        for (int i = 0; i < count; i++) {
+            int question = docQuestion[docs[i]];
+            if (question >= 0) {
+                docs[m++] = question;
+            }
+        }
+        Arrays.sort(docs, 0, m);
+        return Arrays.copyOf(docs, Math.min(m, limit));
+    }
+
+    private long estimate(int term) {
+        return term < 0 ? Long.MAX_VALUE : postingCount[term];
+    }
+
+    // 조각 값 → 조각 번호 (없으면 -1)
+    private int termId(int key) {
+        int mask = termKeys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            int k = termKeys[slot];
+            if (k == key) {
+                return termIds[slot];
+            }
+            if (k == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    // 조각 값 → 조각 번호 (없으면 새로 만듦)
+    private int termIdOrAdd(int key) {
+        int mask = termKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (termKeys[slot] != EMPTY) {
+            if (termKeys[slot] == key) {
+                return termIds[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        int id = termCount++;
+        termKeys[slot] = key;
+        termIds[slot] = id;
+        if (id == postings.length) {
+            int cap = id * 2;
+            postings = Arrays.copyOf(postings, cap);
+            postingLength = Arrays.copyOf(postingLength, cap);
+            postingCount = Arrays.copyOf(postingCount, cap);
+            postingLast = Arrays.copyOf(postingLast, cap);
+        }
+        postings[id] = new byte[4];
+        postingLast[id] = -1;
+        if (termCount * 2 > termKeys.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void rehash() {
+        int[] oldKeys = termKeys;
+        int[] oldIds = termIds;
+        termKeys = new int[oldKeys.length * 2];
+        termIds = new int[oldKeys.length * 2];
+        int mask = termKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (termKeys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                termKeys[slot] = oldKeys[i];
+                termIds[slot] = oldIds[i];
+            }
+        }
+    }
+
+    // 문서 하나 추가 - 제목/본문/선택지를 정규화해서 조각을 모으고, 중복을 빼고 각 posting 뒤에 붙임
+    private int addDocument(int question, QuestionConfig cfg) {
+        text.setLength(0);
+        TextNormalizer.append(cfg.questionText, text);
+        TextNormalizer.append(cfg.passage, text);
+        if (cfg.choices != null) {
+            for (String choice : cfg.choices) {
+                TextNormalizer.append(choice, text);
+            }
+        }
+
+        int n = 0;
+        int len = text.length();
+        for (int w = 0; w < len; ) {
+            int end = w;
+            while (end < len && text.charAt(end) != ' ') {
+                end++;
+            }
+            if (n + (end - w) + 1 > scratch.length) {
+                scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, n + end - w + 1));
+            }
+            if (end - w == 1) {
+                scratch[n++] = text.charAt(w) << 16;
+            }
+            for (int i = w; i + 1 < end; i++) {
+                scratch[n++] = text.charAt(i) << 16 | text.charAt(i + 1);
+            }
+            w = end + 1;
+        }
+        Arrays.sort(scratch, 0, n);
+
+        int doc = docCount++;
+        if (doc == docQuestion.length) {
+            docQuestion = Arrays.copyOf(docQuestion, doc * 2);
+        }
+        docQuestion[doc] = question;
+        for (int i = 0; i < n; i++) {
+            if (i > 0 && scratch[i] == scratch[i - 1]) {
+                continue;
+            }
+            append(termIdOrAdd(scratch[i]), doc);
+        }
+        return doc;
+    }
+
+    // posting 뒤에 문서 번호 하나 (이전 번호와의 차이를 varint 로)
+    private void append(int term, int doc) {
+        int delta = doc - postingLast[term];
+        postingLast[term] = doc;
+        postingCount[term]++;
+        byte[] data = postings[term];
+        int pos = postingLength[term];
+        if (pos + 5 > data.length) {
+            data = postings[term] = Arrays.copyOf(data, Math.max(data.length * 2, pos + 5));
+        }
+        while ((delta & ~0x7F) != 0) {
+            data[pos++] = (byte) (delta & 0x7F | 0x80);
+            delta >>>= 7;
+        }
+        data[pos++] = (byte) delta;
+        postingLength[term] = pos;
+    }
+
+    // posting 전체를 문서 번호 배열로 (개수 반환)
+    private int decode(int term, int[] out) {
+        byte[] data = postings[term];
+        int end = postingLength[term];
+        int doc = -1;
+        int n = 0;
+        for (int pos = 0; pos < end; ) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += delta;
+            out[n++] = doc;
+        }
+        return n;
+    }
+
+    // docs[0..count) 중 posting 에도 있는 것만 남김 (둘 다 오름차순이라 한 번에 훑음)
+    private int intersect(int term, int[] docs, int count) {
+        byte[] data = postings[term];
+        int end = postingLength[term];
+        int doc = -1;
+        int pos = 0;
+        int m = 0;
+        for (int i = 0; i < count && pos < end; ) {
+            int target = docs[i];
+            while (doc < target && pos < end) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += delta;
+            }
+            while (i < count && docs[i] < doc) {
+                i++;
+            }
+            if (i < count && docs[i] == doc) {
+                docs[m++] = doc;
+                i++;
+            }
+        }
+        return m;
+    }
+
+    // 글자 c 가 들어간 모든 조각의 문서 비트 집합 (한 글자 검색어용)
+    private long[] charBits(char c) {
+        long[] bits = new long[(docCount + 63) >>> 6];
+        int[] buffer = new int[0];
+        for (int slot = 0; slot < termKeys.length; slot++) {
+            int key = termKeys[slot];
+            if (key == EMPTY || (key >>> 16 != c && (key & 0xFFFF) != c)) {
+                continue;
+            }
+            int term = termIds[slot];
+            if (buffer.length < postingCount[term]) {
+                buffer = new int[postingCount[term]];
+            }
+            int n = decode(term, buffer);
+            for (int i = 0; i < n; i++) {
+                bits[buffer[i] >>> 6] |= 1L << buffer[i];
+            }
+        }
+        return bits;
+    }
+
+    private void kill(int doc) {
+        if (doc >= 0 && docQuestion[doc] >= 0) {
+            docQuestion[doc] = -1;
+            deadCount++;
+        }
+    }
+
+    // 지운 문서가 1/4 을 넘으면 posting 을 다시 써서 공간과 검색 시간을 돌려받음
+    private void compactIfNeeded() {
+        if (deadCount > 1024 && deadCount * 4 > docCount) {
+            compact();
+        }
+    }
+
+    // 살아 있는 문서만 번호를 앞으로 당겨서 모든 posting 다시 쓰기 (조각 번호는 그대로)
+    synchronized void compact() {
+        long start = System.nanoTime();
+        int[] remap = new int[docCount];
+        int live = 0;
+        for (int d = 0; d < docCount; d++) {
+            if (docQuestion[d] >= 0) {
+                remap[d] = live;
+                docQuestion[live] = docQuestion[d];
+                questionDoc[docQuestion[d]] = live;
+                live++;
+            } else {
+                remap[d] = -1;
+            }
+        }
+        int[] buffer = new int[0];
+        for (int term = 0; term < termCount; term++) {
+            int count = postingCount[term];
+            if (buffer.length < count) {
+                buffer = new int[count];
+            }
+            int n = decode(term, buffer);
+            postingLength[term] = 0;
+            postingCount[term] = 0;
+            postingLast[term] = -1;
+            for (int i = 0; i < n; i++) {
+                if (remap[buffer[i]] >= 0) {
+                    append(term, remap[buffer[i]]);
+                }
+            }
+        }
+        docCount = live;
+        deadCount = 0;
+        Metrics.histogram("search.compact").record(System.nanoTime() - start);
+    }
+
+    // posting 에 쓰인 바이트 수 (크기 보고용)
+    public synchronized long postingBytes() {
+        long sum = 0;
+        for (int term = 0; term < termCount; term++) {
+            sum += postingLength[term];
+        }
+        return sum;
+    }
+
+    public synchronized int termCount() {
+        return termCount;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("사용법: java SearchIndex <검색어>...");
+            System.exit(1);
+        }
+        QuestionBank bank = QuestionBank.load();
+        long start = System.nanoTime();
+        SearchIndex index = build(bank);
+        System.out.printf(Locale.ROOT, "문제 %d개 색인 %.1f ms (조각 %d개, posting %d바이트)%n",
+                bank.size(), (System.nanoTime() - start) / 1_000_000.0, index.termCount(), index.postingBytes());
+
+        String query = String.join(" ", args);
+        start = System.nanoTime();
+        int[] found = index.search(query, 50);
+        System.out.printf(Locale.ROOT, "\"%s\" → %d개 (%.3f ms)%n", query, found.length, (System.nanoTime() - start) / 1_000_000.0);
+        for (int q : found) {
+            String title = TextNormalizer.normalize(bank.get(q).questionText);
+            System.out.printf("  %5d  %s%n", q + 1, title.length() > 60 ? title.substring(0, 60) + "…" : title);
+        }
+    }
+}
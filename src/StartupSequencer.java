@@ -0,0 +1,131 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 시작을 단계별로 나눠서 첫 문제를 빨리 보여주는 도구 (QuizApp 이 씀)
+// 1) main 시작하자마자 백그라운드 스레드에서 폰트/Swing 클래스 미리 데우기 (문제은행 읽기, 세션 준비와 동시에)
+// 2) 문제 순서가 정해지면 화면 순서로 앞쪽 문제 이미지 디코딩 시작 (ImageCache 가 같은 경로는 한 번만 디코딩)
+// 3) EDT 에서는 프레임 + 첫 카드 + 문제 목록만 만들어 바로 보여주고 (문제은행 검사, 답 복구는 백그라운드)
+// 4) 나머지 카드 슬롯은 한 번에 FRAME_BUDGET_MS 이하씩 EDT 에 나눠서 붙임 (사이사이에 그리기/입력 처리)
+// 측정 (이 객체를 만든 시각 = main 시작 기준, Metrics "startup.*" + JFR StartupPhase):
+//   startup.firstVisible 화면을 보이게 한 뒤 EDT 에 쌓인 작업이 끝난 시각
+//   startup.firstPaint   첫 문제 화면이 처음 그려진 시각 (time-to-first-paint)
+//   startup.interactive  미리 데우기 + 카드 붙이기가 모두 끝난 시각 (time-to-fully-interactive)
+public final class StartupSequencer {
+    // 한 번에 EDT 를 쓰는 최대 시간 (60Hz 한 프레임 16ms 의 절반, -Dquiz.startup.frameBudgetMs)
+    static final long FRAME_BUDGET_MS = Long.getLong("quiz.startup.frameBudgetMs", 8L);
+    // 미리 디코딩할 이미지를 찾는 앞쪽 문제 수 (-Dquiz.startup.prewarmImages)
+    static final int PREWARM_IMAGES = Integer.getInteger("quiz.startup.prewarmImages", 64);
+
+    private static final String SAMPLE = "세계사 모의고사 ①②③④⑤ 밑줄 친 (가) 시기에 대한 설명으로 옳은 것은? ABC 123";
+    // 화면에서 쓰는 폰트 (Question 제목/선택지/본문, 제출 버튼)
+    private static final float[][] FONTS = {
+            {Font.BOLD, 20}, {Font.PLAIN, 20}, {Font.PLAIN, 15}, {Font.BOLD, 18}
+    };
+
+    // main 시작부터 재는 단계 (만들 때 시작, 끝나는 곳에서 기록)
+    private final QuizEvents.StartupPhase firstVisible = QuizEvents.beginStartupPhase();
+    private final QuizEvents.StartupPhase firstPaintPhase = QuizEvents.beginStartupPhase();
+    private final QuizEvents.StartupPhase interactive = QuizEvents.beginStartupPhase();
+    private final AtomicInteger pending = new AtomicInteger(2);  // 미리 데우기 + 카드 붙이기
+    private volatile boolean firstPaint;
+
+    // main 시작할 때 만듦
+    public StartupSequencer() {
+    }
+
+    // 만들자마자 미리 데우기 시작
+    public static StartupSequencer start() {
+        StartupSequencer startup = new StartupSequencer();
+        startup.prewarm();
+        return startup;
+    }
+
+    // 폰트 찾기, 글리프, Swing 클래스 초기화를 백그라운드에서 (EDT 가 처음 쓸 때 기다리지 않도록)
+    public void prewarm() {
+        Thread t = new Thread(() -> {
+            QuizEvents.StartupPhase phase = QuizEvents.beginStartupPhase();
+            try {
+                FontRenderContext frc = new FontRenderContext(null, true, true);
+                for (float[] f : FONTS) {
+                    Font font = FontRegistry.get((int) f[0], f[1]);
+                    FontRegistry.metrics(font);
+                    new TextLayout(SAMPLE, font, frc).getAdvance();   // 한글 대체 폰트 + 글리프 캐시
+                }
+                // 클래스 초기화만 (컴포넌트는 만들지 않음 - Swing 컴포넌트는 EDT 에서만)
+                for (String name : new String[] {"javax.swing.JRadioButton", "javax.swing.ButtonGroup",
+                        "javax.swing.JLabel", "javax.swing.BoxLayout", "javax.swing.JList", "PassageView", "Question"}) {
+                    Class.forName(name, true, StartupSequencer.class.getClassLoader());
+                }
+            } catch (ClassNotFoundException | RuntimeException e) {
+                System.err.println("시작 준비 중 오류 (무시하고 계속): " + e);
+            }
+            QuizEvents.startupPhase(phase, "prewarm");
+            finishOne();
+        }, "quiz-prewarm");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    // 화면 앞쪽 문제들의 이미지 디코딩 시작 (결과는 ImageCache 에 남아서 Question 이 바로 받음)
+    // variant: 응시자별 문제 순서 (섞지 않으면 null) - 화면 위치 i 의 문제는 문제은행 variant.bankIndex(i) 번
+    public void prewarmImages(QuestionBank bank, ExamVariant variant) {
+        Thread t = new Thread(() -> {
+            Set<String> paths = new LinkedHashSet<>();
+            for (int i = 0; i < Math.min(bank.size(), PREWARM_IMAGES); i++) {
+                QuestionConfig cfg = bank.get(variant == null ? i : variant.bankIndex(i));
+                if (cfg.hasImage && cfg.imagePath != null && ImageCache.resolve(cfg.imagePath) != null) {
+                    paths.add(cfg.imagePath);
+                }
+            }
+            for (String path : paths) {
+                ImageCache.shared().load(path);
+            }
+        }, "quiz-prewarm-images");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    // 첫 카드가 그려질 때 호출 (EDT, 처음 한 번만 기록)
+    public void painted() {
+        if (!firstPaint) {
+            firstPaint = true;
+            QuizEvents.startupPhase(firstPaintPhase, "firstPaint");
+        }
+    }
+
+    // 화면을 보이게 한 뒤 EDT 에 쌓인 작업이 끝났을 때 호출 (EDT, QuizApp)
+    public void visible() {
+        QuizEvents.startupPhase(firstVisible, "firstVisible");
+    }
+
+    // 남은 카드 슬롯을 프레임 예산만큼씩 EDT 에 나눠서 붙임 (EDT 에서 호출)
+    public void attachRemaining(CardDeck deck) {
+        long budget = FRAME_BUDGET_MS * 1_000_000L;
+        Runnable step = new Runnable() {
+            @Override
+            public void run() {
+                long start = System.nanoTime();
+                boolean more = deck.attachBatch(budget);
+                Metrics.histogram("startup.attachBatch").record(System.nanoTime() - start);
+                if (more) {
+                    SwingUtilities.invokeLater(this);   // 큐 뒤로 → 그 사이 그리기/입력 이벤트 처리
+                } else {
+                    finishOne();
+                }
+            }
+        };
+        SwingUtilities.invokeLater(step);
+    }
+
+    private void finishOne() {
+        if (pending.decrementAndGet() == 0) {
+            // EDT 에 남은 일(마지막 배치 뒤 그리기)이 끝난 뒤 기록
+            SwingUtilities.invokeLater(() -> QuizEvents.startupPhase(interactive, "interactive"));
+        }
+    }
+}
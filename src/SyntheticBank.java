@@ -0,0 +1,39 @@
+import java.util.SplittableRandom;
+
+// 성능 측정/부하 시험용 가짜 문제은행 만들기
+// - 내장 문제(QuestionData)를 바탕으로 제목/본문/선택지를 섞어서 원하는 개수만큼 만든다.
+//   (글자 수, HTML 태그, 이미지 비율이 실제 문제와 비슷하도록)
+// - 같은 seed 면 항상 같은 문제은행
+public final class SyntheticBank {
+    private SyntheticBank() {
+    }
+
+    // count 개짜리 문제은행
+    public static QuestionBank generate(int count, long seed) {
+        QuestionConfig[] source = QuestionData.QUESTIONS;
+        SplittableRandom random = new SplittableRandom(seed);
+        QuestionConfig[] out = new QuestionConfig[count];
+        for (int i = 0; i < count; i++) {
+            QuestionConfig base = source[random.nextInt(source.length)];
+            QuestionConfig other = source[random.nextInt(source.length)];
+
+            String[] choices = new String[base.choices.length];
+            for (int c = 0; c < choices.length; c++) {
+                QuestionConfig from = source[random.nextInt(source.length)];
+                choices[c] = from.choices[random.nextInt(from.choices.length)];
+            }
+            char[] keys = base.keys.clone();
+            char answer = keys[random.nextInt(keys.length)];
+
+            // 제목 앞의 "Q번호." 는 새 번호로 바꿈
+            String title = base.questionText.replaceFirst("^Q\\d+\\.", "Q" + (i + 1) + ".");
+            // 본문은 두 문제의 본문을 이어 붙이기도 함 (긴 본문 비율 조절)
+            String passage = random.nextInt(4) == 0 && other.passage != null
+                    ? base.passage + "<br>" + other.passage
+                    : base.passage;
+            out[i] = new QuestionConfig(title, passage, choices, keys,
+                    base.hasImage, base.hasImage ? base.imagePath : "", answer);
+        }
+        return QuestionBank.of(out);
+    }
+}
@@ -0,0 +1,110 @@
+// 문제 글(HTML 이 섞인 제목/본문/선택지)을 검색·비교용 글자열로 바꾸는 도구
+// - 태그(<u>, <br>, <div ...> 등)는 지우고 공백 하나로
+// - 엔티티(&nbsp; &lt; &gt; &amp; &quot; &#39; &#x27; ...)는 글자로 ('&nbsp' 처럼 ';' 이 빠진 것도 처리)
+// - 영문은 소문자로, 글자/숫자가 아닌 것(문장 부호, 기호)은 모두 공백
+// - 공백은 하나로 합치고 앞뒤 공백은 없앰
+// 결과는 "단어 단어 단어" 형태 (단어 = 글자/숫자가 이어진 것)
+public final class TextNormalizer {
+    private TextNormalizer() {
+    }
+
+    // html → 정규화한 글자열 (null 이면 빈 글자열)
+    public static String normalize(String html) {
+        StringBuilder out = new StringBuilder(html == null ? 0 : html.length());
+        append(html, out);
+        return out.toString();
+    }
+
+    // html 을 정규화해서 out 뒤에 붙임 (여러 필드를 이어 붙일 때는 사이에 공백 하나)
+    public static void append(String html, StringBuilder out) {
+        if (html == null || html.isEmpty()) {
+            return;
+        }
+        if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') {
+            out.append(' ');
+        }
+        int n = html.length();
+        int i = 0;
+        while (i < n) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                int end = html.indexOf('>', i);
+                if (end < 0) {
+                    end = n - 1;    // 닫히지 않은 태그는 끝까지 버림 (검사기는 따로 QuestionBankValidator)
+                }
+                space(out);
+                i = end + 1;
+                continue;
+            }
+            if (c == '&') {
+                int end = entityEnd(html, i);
+                if (end > i) {
+                    char decoded = decode(html, i + 1, end);
+                    emit(decoded, out);
+                    i = end < n && html.charAt(end) == ';' ? end + 1 : end;
+                    continue;
+                }
+            }
+            emit(c, out);
+            i++;
+        }
+        if (out.length() > 0 && out.charAt(out.length() - 1) == ' ') {
+            out.setLength(out.length() - 1);
+        }
+    }
+
+    // '&' 다음 엔티티 이름이 끝나는 위치 (';' 위치 또는 이름 끝), 엔티티가 아니면 start
+    private static int entityEnd(String s, int start) {
+        int n = Math.min(s.length(), start + 10);
+        int i = start + 1;
+        if (i < n && s.charAt(i) == '#') {
+            i++;
+        }
+        while (i < n && isAsciiLetterOrDigit(s.charAt(i))) {
+            i++;     // 엔티티 이름은 영문/숫자뿐 ('&nbsp알렉' 처럼 바로 붙은 한글은 본문)
+        }
+        return i > start + 1 ? i : start;
+    }
+
+    static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    // 엔티티 이름 → 글자 (모르는 엔티티는 공백)
+    private static char decode(String s, int from, int to) {
+        if (s.charAt(from) == '#') {
+            try {
+                boolean hex = to > from + 1 && (s.charAt(from + 1) == 'x' || s.charAt(from + 1) == 'X');
+                int code = hex ? Integer.parseInt(s, from + 2, to, 16) : Integer.parseInt(s, from + 1, to, 10);
+                return code > 0 && code <= Character.MAX_VALUE ? (char) code : ' ';
+            } catch (NumberFormatException e) {
+                return ' ';
+            }
+        }
+        return switch (s.substring(from, to)) {
+            case "lt" -> '<';
+            case "gt" -> '>';
+            case "amp" -> '&';
+            case "quot" -> '"';
+            case "apos" -> '\'';
+            case "middot" -> '·';
+            default -> ' ';     // nbsp 등
+        };
+    }
+
+    // 글자 하나 붙이기 - 글자/숫자는 (영문 소문자로) 그대로, 나머지는 공백
+    private static void emit(char c, StringBuilder out) {
+        if (Character.isLetterOrDigit(c)) {
+            out.append(c < 128 ? Character.toLowerCase(c) : c);
+        } else {
+            space(out);
+        }
+    }
+
+    // 공백은 하나만, 맨 앞에는 붙이지 않음
+    private static void space(StringBuilder out) {
+        if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') {
+            out.append(' ');
+        }
+    }
+}